@@ -0,0 +1,173 @@
+package fintech.benchmark;
+
+import fintech.ArraySorter;
+import fintech.ShuffleMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки алгоритмов ArraySorter с ростом O(n log n) и O(n),
+ * а также Arrays.sort как эталон.
+ * Размеры от 10 до 10^7.
+ * Рекурсивная sortQuick вынесена в QuadraticSortBenchmark:
+ * на ORGAN_PIPE она вырождается в O(n^2) с глубиной рекурсии O(n)
+ * и от 10^6 переполняет стек.
+ * <p>
+ * Все методы ArraySorter возвращают копию,
+ * поэтому эталон тоже сортирует копию: сравнение честное.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ArraySorterBenchmark {
+
+    /**
+     * Размер массива.
+     */
+    @Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+    private int size;
+
+    /**
+     * Распределение входных данных.
+     */
+    @Param
+    private InputDistribution distribution;
+
+    /**
+     * Входной массив, не меняется между вызовами.
+     */
+    private int[] input;
+
+    /**
+     * Подготовка входных данных.
+     */
+    @Setup
+    public void setUp() {
+        input = distribution.create(size, size);
+    }
+
+    /**
+     * Эталон: копия + Arrays.sort.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] arraysSort() {
+        int[] copy = input.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Адаптивная сортировка.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sort() {
+        return ArraySorter.sort(input);
+    }
+
+    /**
+     * Интроспективная сортировка.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortIntro() {
+        return ArraySorter.sortIntro(input);
+    }
+
+    /**
+     * Сортировка слиянием с поиском серий.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortMerge() {
+        return ArraySorter.sortMerge(input);
+    }
+
+    /**
+     * Поразрядная сортировка.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortRadix() {
+        return ArraySorter.sortRadix(input);
+    }
+
+    /**
+     * Параллельная сортировка в общем пуле.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortParallel() {
+        return ArraySorter.sortParallel(input);
+    }
+
+    /**
+     * Быстрая сортировка с векторным разбиением.
+     *
+     * @return отсортированная копия
+     */
+    @Benchmark
+    public int[] sortVector() {
+        return ArraySorter.sortVector(input);
+    }
+
+    /**
+     * Перемешивание.
+     *
+     * @return перемешанная копия
+     */
+    @Benchmark
+    public int[] shuffle() {
+        return ArraySorter.shuffle(input);
+    }
+
+    /**
+     * Перемешивание Фишером — Йетсом с SplittableRandom.
+     *
+     * @return перемешанная копия
+     */
+    @Benchmark
+    public int[] shuffleFisherYates() {
+        int[] array = input.clone();
+        ArraySorter.shuffleInPlace(array, 0, array.length,
+                new SplittableRandom(size), ShuffleMode.FISHER_YATES);
+        return array;
+    }
+
+    /**
+     * Параллельное перемешивание (MergeShuffle) в общем пуле.
+     *
+     * @return перемешанная копия
+     */
+    @Benchmark
+    public int[] shuffleParallel() {
+        int[] array = input.clone();
+        ArraySorter.shuffleParallelInPlace(array, 0, array.length,
+                new SplittableRandom(size), ForkJoinPool.commonPool());
+        return array;
+    }
+}
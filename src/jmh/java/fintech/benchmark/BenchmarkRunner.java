@@ -0,0 +1,31 @@
+package fintech.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Запуск всех бенчмарков с GC-профайлером
+ * (скорость выделения памяти, gc.alloc.rate.norm).
+ * Первый аргумент, если есть, - регулярное выражение для отбора бенчмарков.
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private BenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : "fintech.benchmark.*")
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
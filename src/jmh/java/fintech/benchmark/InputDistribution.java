@@ -0,0 +1,114 @@
+package fintech.benchmark;
+
+import java.util.Random;
+
+/**
+ * Распределения входных данных для бенчмарков.
+ * Все массивы строятся детерминированно от seed,
+ * чтобы прогоны были сравнимы между собой.
+ */
+public enum InputDistribution {
+
+    /**
+     * Произвольные значения во всём диапазоне int.
+     */
+    RANDOM {
+        @Override
+        void fill(final int[] array, final Random random) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt();
+            }
+        }
+    },
+
+    /**
+     * Уже отсортированный по возрастанию массив.
+     */
+    SORTED {
+        @Override
+        void fill(final int[] array, final Random random) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = i;
+            }
+        }
+    },
+
+    /**
+     * Массив, отсортированный по убыванию.
+     */
+    REVERSE_SORTED {
+        @Override
+        void fill(final int[] array, final Random random) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = array.length - i;
+            }
+        }
+    },
+
+    /**
+     * Много повторов: всего несколько различных значений.
+     */
+    FEW_UNIQUE {
+        @Override
+        void fill(final int[] array, final Random random) {
+            final int uniqueValues = 8;
+            for (int i = 0; i < array.length; i++) {
+                array[i] = random.nextInt(uniqueValues);
+            }
+        }
+    },
+
+    /**
+     * "Органная труба": возрастает до середины, затем убывает.
+     */
+    ORGAN_PIPE {
+        @Override
+        void fill(final int[] array, final Random random) {
+            int half = array.length / 2;
+            for (int i = 0; i < array.length; i++) {
+                array[i] = i < half ? i : array.length - i;
+            }
+        }
+    },
+
+    /**
+     * Почти отсортированный массив: ~1% элементов переставлено.
+     */
+    NEARLY_SORTED {
+        @Override
+        void fill(final int[] array, final Random random) {
+            for (int i = 0; i < array.length; i++) {
+                array[i] = i;
+            }
+            int swaps = Math.max(1, array.length / 100);
+            for (int k = 0; k < swaps; k++) {
+                int i = random.nextInt(array.length);
+                int j = random.nextInt(array.length);
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    };
+
+    /**
+     * Заполнение массива значениями распределения.
+     *
+     * @param array  массив для заполнения
+     * @param random источник случайных чисел
+     */
+    abstract void fill(int[] array, Random random);
+
+    /**
+     * Создание массива заданного размера.
+     *
+     * @param size размер массива
+     * @param seed начальное значение генератора
+     * @return заполненный массив
+     */
+    public int[] create(final int size, final long seed) {
+        int[] array = new int[size];
+        fill(array, new Random(seed));
+        return array;
+    }
+}
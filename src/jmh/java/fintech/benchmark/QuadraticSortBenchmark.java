@@ -0,0 +1,111 @@
+package fintech.benchmark;
+
+import fintech.ArraySorter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки алгоритмов ArraySorter с ростом O(n^2),
+ * в том числе в худшем случае: sortQuick на неудачных распределениях.
+ * Размеры ограничены 10^5: на 10^6 и больше
+ * одна итерация занимает минуты и ничего не добавляет к картине.
+ * Эталон Arrays.sort повторён для тех же размеров.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class QuadraticSortBenchmark {
+
+    /**
+     * Размер массива.
+     */
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int size;
+
+    /**
+     * Распределение входных данных.
+     */
+    @Param
+    private InputDistribution distribution;
+
+    /**
+     * Входной массив, не меняется между вызовами.
+     */
+    private int[] input;
+
+    /**
+     * Подготовка входных данных.
+     */
+    @Setup
+    public void setUp() {
+        input = distribution.create(size, size);
+    }
+
+    /**
+     * Эталон: копия + Arrays.sort.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] arraysSort() {
+        int[] copy = input.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    /**
+     * Быстрая сортировка.
+     * На 10^5 глубина рекурсии на ORGAN_PIPE ещё помещается в стек.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortQuick() {
+        return ArraySorter.sortQuick(input);
+    }
+
+    /**
+     * Сортировка выбором.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortSelection() {
+        return ArraySorter.sortSelection(input);
+    }
+
+    /**
+     * Гномья сортировка.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortGnome() {
+        return ArraySorter.sortGnome(input);
+    }
+
+    /**
+     * Коктейльная сортировка.
+     *
+     * @return сортированная копия
+     */
+    @Benchmark
+    public int[] sortCocktail() {
+        return ArraySorter.sortCocktail(input);
+    }
+}
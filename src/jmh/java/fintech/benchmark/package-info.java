@@ -0,0 +1,7 @@
+/*
+ * JMH-бенчмарки для ArraySorter.
+ * Собираются только в профиле benchmark:
+ * mvn -P benchmark package
+ * java -jar target/benchmarks.jar -prof gc
+ */
+package fintech.benchmark;
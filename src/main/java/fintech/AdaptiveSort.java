@@ -0,0 +1,203 @@
+package fintech;
+
+/**
+ * Адаптивный выбор алгоритма сортировки по входным данным.
+ * Линейные проходы считают число серий, минимум и максимум,
+ * небольшая выборка оценивает долю повторов.
+ */
+final class AdaptiveSort {
+
+    /**
+     * До этого размера сортируем вставками.
+     */
+    static final int INSERTION_MAX = 32;
+
+    /**
+     * Начиная с этого размера поразрядная сортировка быстрее сравнений.
+     */
+    static final int RADIX_MIN = 1 << 12;
+
+    /**
+     * Серий не больше length / RUN_DIVISOR - массив почти отсортирован.
+     */
+    static final int RUN_DIVISOR = 64;
+
+    /**
+     * Размер выборки для оценки повторов.
+     */
+    private static final int SAMPLE_SIZE = 32;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private AdaptiveSort() {
+    }
+
+    /**
+     * Выбор алгоритма для диапазона [from, to).
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return выбранный алгоритм
+     */
+    static SortStrategy choose(final int[] intArray, final int from, final int to) {
+        if (Presortedness.monotone(intArray, from, to, Presortedness.ASCENDING) != 0) {
+            return SortStrategy.PRESORTED;
+        }
+        return chooseKernel(intArray, from, to);
+    }
+
+    /**
+     * Выбор алгоритма для неупорядоченного диапазона [from, to).
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return выбранный алгоритм
+     */
+    private static SortStrategy chooseKernel(final int[] intArray,
+                                             final int from, final int to) {
+        SortStrategy strategy = chooseByOrder(intArray, from, to);
+        if (strategy != null) {
+            return strategy;
+        }
+        return chooseByValues(intArray, from, to, CountingSort.minMax(intArray, from, to));
+    }
+
+    /**
+     * Выбор по длине и упорядоченности: вставки для коротких диапазонов,
+     * слияние серий для почти отсортированных.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return INSERTION, RUN_MERGE или null, если нужен выбор по значениям
+     */
+    private static SortStrategy chooseByOrder(final int[] intArray,
+                                              final int from, final int to) {
+        int length = to - from;
+        if (length <= INSERTION_MAX) {
+            return SortStrategy.INSERTION;
+        }
+
+        // серии (возрастающие и убывающие) - до первого превышения порога
+        if (RunMergeSort.countRuns(intArray, from, to, runLimit(length))
+                <= runLimit(length)) {
+            return SortStrategy.RUN_MERGE;
+        }
+        return null;
+    }
+
+    /**
+     * Выбор по значениям: подсчёт для узкого диапазона,
+     * интроспективная для данных с повторами, иначе поразрядная
+     * или интроспективная по длине.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param minMax   минимум и максимум диапазона из CountingSort.minMax
+     * @return выбранный алгоритм
+     */
+    private static SortStrategy chooseByValues(final int[] intArray, final int from,
+                                               final int to, final long minMax) {
+        int length = to - from;
+        int min = (int) (minMax >> 32);
+        int max = (int) minMax;
+
+        if ((long) max - min < length) {
+            return SortStrategy.COUNTING;
+        }
+        if (hasManyDuplicates(intArray, from, to)) {
+            return SortStrategy.INTRO;
+        }
+        return length >= RADIX_MIN ? SortStrategy.RADIX : SortStrategy.INTRO;
+    }
+
+    /**
+     * Сколько серий ещё считается почти отсортированным массивом.
+     *
+     * @param length длина диапазона
+     * @return предельное число серий
+     */
+    private static int runLimit(final int length) {
+        return Math.max(1, length / RUN_DIVISOR);
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте выбранным алгоритмом.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace источник вспомогательных массивов
+     * @return применённый алгоритм
+     */
+    static SortStrategy sort(final int[] intArray, final int from, final int to,
+                             final SortWorkspace workspace) {
+        if (Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            return SortStrategy.PRESORTED;
+        }
+        int length = to - from;
+        // минимум и максимум считаются один раз и нужны подсчёту
+        long minMax = 0L;
+        SortStrategy strategy = chooseByOrder(intArray, from, to);
+        if (strategy == null) {
+            minMax = CountingSort.minMax(intArray, from, to);
+            strategy = chooseByValues(intArray, from, to, minMax);
+        }
+        switch (strategy) {
+            case INSERTION:
+                IntroSort.insertionSort(intArray, from, to);
+                break;
+            case RUN_MERGE:
+                RunMergeSort.sort(intArray, from, to, workspace.buffer(length / 2),
+                        workspace.mergeState());
+                break;
+            case COUNTING:
+                int min = (int) (minMax >> 32);
+                int max = (int) minMax;
+                CountingSort.sort(intArray, from, to, min, max, workspace.counts(max - min + 1));
+                break;
+            case RADIX:
+                RadixSort.sort(intArray, from, to, workspace.buffer(length),
+                        RadixSort.SIGN_FLIP, workspace.histogram());
+                break;
+            default:
+                IntroSort.sort(intArray, from, to);
+                break;
+        }
+        return strategy;
+    }
+
+    /**
+     * Оценка доли повторов по равномерной выборке:
+     * если хотя бы половина выборки - повторы,
+     * трёхстороннее разбиение выгоднее поразрядной сортировки.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return много ли повторов
+     */
+    private static boolean hasManyDuplicates(final int[] intArray,
+                                             final int from, final int to) {
+        // выборка читается прямо из массива, без копии:
+        // повтор - элемент, равный одному из предыдущих в выборке
+        long step = (long) (to - from) / SAMPLE_SIZE;
+        int duplicates = 0;
+        for (int k = 1; k < SAMPLE_SIZE; k++) {
+            int value = intArray[(int) (from + k * step)];
+            for (int j = 0; j < k; j++) {
+                if (intArray[(int) (from + j * step)] == value) {
+                    duplicates++;
+                    break;
+                }
+            }
+        }
+        return duplicates >= SAMPLE_SIZE / 2;
+    }
+}
@@ -0,0 +1,234 @@
+package fintech;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики одного алгоритма сортировки.
+ * Пишутся только при включённом SortMetrics.ENABLED;
+ * LongAdder не создаёт конкуренции между потоками.
+ */
+public final class AlgorithmMetrics implements AlgorithmMetricsMXBean {
+
+    /**
+     * Число ячеек гистограммы времени: по одной на степень двойки.
+     */
+    static final int LATENCY_BUCKETS = 64;
+
+    /**
+     * Имя алгоритма.
+     */
+    private final String name;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0L);
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS];
+
+    /**
+     * Счётчики алгоритма.
+     *
+     * @param name имя алгоритма
+     */
+    AlgorithmMetrics(final String name) {
+        this.name = name;
+        for (int i = 0; i < latency.length; i++) {
+            latency[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Учёт завершённого вызова.
+     *
+     * @param count     число отсортированных элементов
+     * @param started   System.nanoTime() в начале вызова
+     * @param allocated SortMetrics.allocatedBytes() в начале вызова
+     */
+    void record(final int count, final long started, final long allocated) {
+        long nanos = Math.max(0L, System.nanoTime() - started);
+        calls.increment();
+        elements.add(count);
+        totalNanos.add(nanos);
+        // 64 - nlz(0) = 0, так что нулевая длительность попадает в ячейку 0
+        latency[LATENCY_BUCKETS - Long.numberOfLeadingZeros(nanos)].increment();
+        if (allocated >= 0) {
+            allocatedBytes.add(Math.max(0L, SortMetrics.allocatedBytes() - allocated));
+        }
+    }
+
+    /**
+     * Учёт сравнений и обменов.
+     *
+     * @param comparisonCount число сравнений
+     * @param swapCount       число обменов
+     */
+    void count(final long comparisonCount, final long swapCount) {
+        comparisons.add(comparisonCount);
+        swaps.add(swapCount);
+    }
+
+    /**
+     * Учёт глубины рекурсии.
+     *
+     * @param depth достигнутая глубина
+     */
+    void depth(final int depth) {
+        maxDepth.accumulate(depth);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getElements() {
+        return elements.sum();
+    }
+
+    @Override
+    public long getComparisons() {
+        return comparisons.sum();
+    }
+
+    @Override
+    public long getSwaps() {
+        return swaps.sum();
+    }
+
+    @Override
+    public long getMaxRecursionDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[LATENCY_BUCKETS];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = latency[i].sum();
+        }
+        return histogram;
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        elements.reset();
+        comparisons.reset();
+        swaps.reset();
+        maxDepth.reset();
+        allocatedBytes.reset();
+        totalNanos.reset();
+        for (LongAdder bucket : latency) {
+            bucket.reset();
+        }
+    }
+
+    /**
+     * Неизменяемый снимок счётчиков.
+     * Счётчики читаются по очереди, поэтому при параллельной записи
+     * снимок согласован лишь приблизительно.
+     *
+     * @return снимок
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Снимок счётчиков алгоритма.
+     */
+    public static final class Snapshot {
+
+        private final String name;
+        private final long calls;
+        private final long elements;
+        private final long comparisons;
+        private final long swaps;
+        private final long maxRecursionDepth;
+        private final long allocatedBytes;
+        private final long totalNanos;
+        private final long[] latencyHistogram;
+
+        private Snapshot(final AlgorithmMetrics metrics) {
+            name = metrics.getName();
+            calls = metrics.getCalls();
+            elements = metrics.getElements();
+            comparisons = metrics.getComparisons();
+            swaps = metrics.getSwaps();
+            maxRecursionDepth = metrics.getMaxRecursionDepth();
+            allocatedBytes = metrics.getAllocatedBytes();
+            totalNanos = metrics.getTotalNanos();
+            latencyHistogram = metrics.getLatencyHistogram();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getElements() {
+            return elements;
+        }
+
+        public long getComparisons() {
+            return comparisons;
+        }
+
+        public long getSwaps() {
+            return swaps;
+        }
+
+        public long getMaxRecursionDepth() {
+            return maxRecursionDepth;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return копия гистограммы времени, см. AlgorithmMetricsMXBean
+         */
+        public long[] getLatencyHistogram() {
+            return latencyHistogram.clone();
+        }
+
+        @Override
+        public String toString() {
+            return name + "{calls=" + calls + ", elements=" + elements
+                    + ", comparisons=" + comparisons + ", swaps=" + swaps
+                    + ", maxRecursionDepth=" + maxRecursionDepth
+                    + ", allocatedBytes=" + allocatedBytes
+                    + ", totalNanos=" + totalNanos
+                    + ", latencyHistogram=" + Arrays.toString(latencyHistogram) + "}";
+        }
+    }
+}
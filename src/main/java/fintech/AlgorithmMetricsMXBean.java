@@ -0,0 +1,62 @@
+package fintech;
+
+/**
+ * JMX-представление счётчиков одного алгоритма сортировки.
+ * Регистрируется как fintech:type=SortMetrics,name=имя алгоритма.
+ */
+public interface AlgorithmMetricsMXBean {
+
+    /**
+     * @return имя алгоритма
+     */
+    String getName();
+
+    /**
+     * @return число вызовов
+     */
+    long getCalls();
+
+    /**
+     * @return суммарное число отсортированных элементов
+     */
+    long getElements();
+
+    /**
+     * @return число сравнений (0, если алгоритм их не считает)
+     */
+    long getComparisons();
+
+    /**
+     * @return число обменов и перемещений (0, если алгоритм их не считает)
+     */
+    long getSwaps();
+
+    /**
+     * @return наибольшая глубина рекурсии (0, если алгоритм её не считает)
+     */
+    long getMaxRecursionDepth();
+
+    /**
+     * @return байты, выделенные в потоке вызывающего
+     */
+    long getAllocatedBytes();
+
+    /**
+     * @return суммарное время в наносекундах
+     */
+    long getTotalNanos();
+
+    /**
+     * Гистограмма времени вызова: в ячейке i - число вызовов
+     * длительностью от 2^(i-1) до 2^i - 1 наносекунд
+     * (в ячейке 0 - вызовы короче наносекунды).
+     *
+     * @return гистограмма из 64 ячеек
+     */
+    long[] getLatencyHistogram();
+
+    /**
+     * Обнуление счётчиков.
+     */
+    void reset();
+}
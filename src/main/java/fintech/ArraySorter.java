@@ -1,14 +1,26 @@
 package fintech;
 
-import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToIntFunction;
+import java.util.random.RandomGenerator;
 
 /**
  * Класс содержит статические методы
  * для сортировки массивов целых чисел
  * разными способами.
+ * Все сортировки начинают с линейной проверки:
+ * упорядоченный диапазон возвращается сразу,
+ * строго обратный разворачивается на месте.
  */
 public final class ArraySorter {
 
+    /**
+     * Порог параллельной сортировки по умолчанию.
+     * Куски меньше этого размера сортируются последовательно.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 13;
+
     /**
      * Приватный конструктор.
      * Для предотвращения
@@ -17,27 +29,118 @@ public final class ArraySorter {
     private ArraySorter() {
     }
 
+
     /**
-     * Меняем местами значения ячеек в int[].
+     * Проверка диапазона [from, to) в массиве.
+     * Вспомогательный метод
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    private static void checkRange(final int[] intArray,
+                                   final int from, final int to) {
+        checkRange(intArray.length, from, to);
+    }
+
+    /**
+     * Проверка диапазона [from, to) в массиве заданной длины.
+     * Общая для сортировщиков массивов всех типов
+     *
+     * @param length длина массива
+     * @param from   индекс начала диапазона (включительно)
+     * @param to     индекс конца диапазона (не включительно)
+     */
+    static void checkRange(final int length, final int from, final int to) {
+        if (from < 0 || to > length || from > to) {
+            throw (new ArraySorterException("Invalid range [" + from
+                    + ", " + to + ") for array of length " + length));
+        }
+    }
+
+    /**
+     * Проверка размера вспомогательного массива.
+     * Вспомогательный метод
+     *
+     * @param buffer вспомогательный массив
+     * @param length требуемая длина
+     */
+    private static void checkBuffer(final int[] buffer, final int length) {
+        if (buffer.length < length) {
+            throw (new ArraySorterException("Buffer of length " + buffer.length
+                    + " is too small, " + length + " required"));
+        }
+    }
+
+    /**
+     * Проверка пула потоков.
+     * Вспомогательный метод
+     *
+     * @param pool пул потоков
+     */
+    private static void checkPool(final ForkJoinPool pool) {
+        if (pool == null) {
+            throw (new ArraySorterException("Pool is null"));
+        }
+    }
+
+    /**
+     * Проверка рабочей области.
      * Вспомогательный метод
      *
+     * @param workspace рабочая область
+     */
+    private static void checkWorkspace(final SortWorkspace workspace) {
+        if (workspace == null) {
+            throw (new ArraySorterException("Workspace must not be null"));
+        }
+    }
+
+    /**
+     * Одноразовая рабочая область без удержания буферов:
+     * вызовы без рабочей области выделяют память как раньше.
+     * Вспомогательный метод
+     *
+     * @return новая рабочая область
+     */
+    private static SortWorkspace unpooled() {
+        return new SortWorkspace(0);
+    }
+
+    /**
+     * Проверка номера k для выбора и частичной сортировки.
+     * Вспомогательный метод
+     *
+     * @param k         номер или количество элементов
+     * @param length    длина диапазона
+     * @param inclusive допустимо ли k == length
+     */
+    private static void checkK(final int k, final int length, final boolean inclusive) {
+        if (k < 0 || k > length || (k == length && !inclusive)) {
+            throw (new ArraySorterException("Invalid k " + k
+                    + " for range of length " + length));
+        }
+    }
+
+    /**
+     * Меняем местами значения ячеек в int[].
+     * Вспомогательный метод, изменяет массив на месте
+     *
      * @param intArray массив
      * @param i1       индекс ячейки 1 для свопа
      * @param i2       индекс ячейки 2 для свопа
-     * @return массив с изменениями
      */
-    private static int[] swapValuesInIntArray(final int[] intArray,
-                                              final int i1,
-                                              final int i2) {
-        int[] newArray = intArray.clone();
-        int a = newArray[i1];
-        newArray[i1] = newArray[i2];
-        newArray[i2] = a;
-        return newArray;
+    private static void swapValuesInIntArray(final int[] intArray,
+                                             final int i1,
+                                             final int i2) {
+        int a = intArray[i1];
+        intArray[i1] = intArray[i2];
+        intArray[i2] = a;
     }
 
     /**
-     * Тасование Фишера — Йетса.
+     * Тасование Саттоло (циклический вариант Фишера — Йетса).
+     * Возвращает перемешанную копию массива.
      *
      * @param intArray массив для перемешивания
      * @return перемешанный массив
@@ -50,28 +153,84 @@ public final class ArraySorter {
         }
 
         int[] newArray = intArray.clone();
-        Random random = new Random();
-        // перебираем массив с конца
-        for (int i = newArray.length - 1; i > 0; i--) {
-            /*
-             * меняем местами число в текущей ячейке
-             * и число в произвольной ячейке
-             * cлева от текущей (исключая её,
-             * чтобы массив не сохранил первоначальный вид)
-             */
-            newArray = swapValuesInIntArray(newArray, random.nextInt(i), i);
-        }
+        shuffleInPlace(newArray, 0, newArray.length);
         return newArray;
     }
 
     /**
-     * Сортировка выбором.
-     * Проходим по массиву, суём максимальные значения в конец.
+     * Тасование Саттоло на месте.
+     * Перемешивает диапазон [from, to) переданного массива,
+     * не выделяя памяти.
+     *
+     * @param intArray массив для перемешивания
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void shuffleInPlace(final int[] intArray,
+                                      final int from, final int to) {
+        /*
+         * Саттоло, а не Фишер — Йетс: каждый элемент
+         * уходит со своего места, массив не сохранит первоначальный вид
+         */
+        shuffleInPlace(intArray, from, to, ThreadLocalRandom.current(), ShuffleMode.SATTOLO);
+    }
+
+    /**
+     * Тасование на месте с заданным генератором и вариантом.
+     * Перемешивает диапазон [from, to) переданного массива,
+     * не выделяя памяти. Для воспроизводимости
+     * можно передать генератор с фиксированным начальным значением,
+     * например SplittableRandom или L64X128MixRandom.
+     *
+     * @param intArray массив для перемешивания
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param random   генератор случайных чисел
+     * @param mode     вариант тасования
+     */
+    public static void shuffleInPlace(final int[] intArray, final int from, final int to,
+                                      final RandomGenerator random, final ShuffleMode mode) {
+        checkRange(intArray, from, to);
+        if (random == null || mode == null) {
+            throw (new ArraySorterException("Random generator and mode must not be null"));
+        }
+        Shuffle.shuffle(intArray, from, to, random, mode);
+    }
+
+    /**
+     * Параллельное равновероятное (как Фишер — Йетс) тасование на месте
+     * для очень больших массивов (MergeShuffle).
+     * Блоки тасуются независимо с отщеплёнными генераторами
+     * и попарно сливаются случайным слиянием.
+     * При одном и том же начальном генераторе результат воспроизводим.
+     *
+     * @param intArray массив для перемешивания
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param random   расщепляемый генератор случайных чисел
+     * @param pool     пул потоков
+     */
+    public static void shuffleParallelInPlace(final int[] intArray, final int from,
+                                              final int to,
+                                              final RandomGenerator.SplittableGenerator random,
+                                              final ForkJoinPool pool) {
+        checkRange(intArray, from, to);
+        if (random == null || pool == null) {
+            throw (new ArraySorterException("Random generator and pool must not be null"));
+        }
+        Shuffle.shuffleParallel(intArray, from, to, random, pool);
+    }
+
+    /**
+     * Адаптивная сортировка.
+     * Смотрит на размер массива, число упорядоченных серий,
+     * диапазон значений и долю повторов
+     * и выбирает самый дешёвый алгоритм.
      *
      * @param intArray массив для сортировки
      * @return сортированный массив
      */
-    public static int[] sortSelection(final int[] intArray) {
+    public static int[] sort(final int[] intArray) {
         if (intArray.length < 1) {
             throw (new ArraySorterException("Input Array is empty"));
         } else if (intArray.length == 1) {
@@ -79,50 +238,60 @@ public final class ArraySorter {
         }
 
         int[] newArray = intArray.clone();
-        // записываем последний индекс
-        int lastIndex = newArray.length - 1;
-        /*
-         * проверяем диапазон 0-lastIndex,
-         * после каждой проверки сдвигая lastIndex, пока не дойдём до 0
-         */
-        while (lastIndex > 0) {
-            /*
-             * находим максимальное значение
-             * в регионе 0-lastIndex
-             * за максимальное берём то,
-             * что в конце проверяемого диапазона
-             */
-            int maxValueIndex = lastIndex;
-            int maxValue = newArray[maxValueIndex];
-            for (int i = 0; i <= lastIndex; i++) {
-                if (newArray[i] > maxValue) {
-                    maxValue = newArray[i];
-                    maxValueIndex = i;
-                }
-            }
-            /* меняем значения слота с максимальным значением
-             * со значением последнего слота, если они не равны
-             */
-            if (maxValueIndex != lastIndex) {
-                newArray = swapValuesInIntArray(newArray, maxValueIndex, lastIndex);
-            }
-            // сдвигаем последний индекс
-            lastIndex--;
-        }
-
+        sortInPlace(newArray, 0, newArray.length);
         return newArray;
     }
 
     /**
-     * Гномья сортировка.
-     * Проверяем пары.
-     * Если нечего менять, шагаем вперёд,
-     * если нет порядка, меняем и шагаем назад
+     * Адаптивная сортировка на месте.
+     * Возвращает применённый алгоритм, чтобы выбор можно было
+     * логировать и настраивать.
      *
      * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return применённый алгоритм
+     */
+    public static SortStrategy sortInPlace(final int[] intArray,
+                                           final int from, final int to) {
+        return sortInPlace(intArray, from, to, unpooled());
+    }
+
+    /**
+     * Адаптивная сортировка на месте с рабочей областью вызывающего.
+     * В установившемся режиме память не выделяется.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace рабочая область, например SortWorkspace.current()
+     * @return применённый алгоритм
+     */
+    public static SortStrategy sortInPlace(final int[] intArray,
+                                           final int from, final int to,
+                                           final SortWorkspace workspace) {
+        checkRange(intArray, from, to);
+        checkWorkspace(workspace);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        SortStrategy strategy = AdaptiveSort.sort(intArray, from, to, workspace);
+        if (SortMetrics.ENABLED) {
+            SortMetrics.ADAPTIVE.record(to - from, started, allocated);
+        }
+        return strategy;
+    }
+
+    /**
+     * Сортировка в заданном порядке.
+     * Для IntComparator.NATURAL и IntComparator.REVERSE
+     * используются специализированные ядра без вызовов компаратора,
+     * для остальных - интроспективная сортировка с компаратором.
+     *
+     * @param intArray   массив для сортировки
+     * @param comparator порядок
      * @return сортированный массив
      */
-    public static int[] sortGnome(final int[] intArray) {
+    public static int[] sort(final int[] intArray, final IntComparator comparator) {
         if (intArray.length < 1) {
             throw (new ArraySorterException("Input Array is empty"));
         } else if (intArray.length == 1) {
@@ -130,41 +299,51 @@ public final class ArraySorter {
         }
 
         int[] newArray = intArray.clone();
+        sortInPlace(newArray, 0, newArray.length, comparator);
+        return newArray;
+    }
 
-        int i = 0;
-        int j = 1;
-
-        // пока второй индекс не выйдет за пределы массива
-        while (j < newArray.length) {
-            // если порядок неправильный, меняем местами
-            if (newArray[i] > newArray[j]) {
-                newArray = swapValuesInIntArray(newArray, i, j);
-                // если есть, куда шагать, шаг назад, если нет, шаг вперёд
-                if (i > 0) {
-                    i--;
-                    j--;
-                } else {
-                    i++;
-                    j++;
-                }
-                // если порядок правильный, шаг вперёд
-            } else {
-                i++;
-                j++;
-            }
+    /**
+     * Сортировка в заданном порядке на месте.
+     *
+     * @param intArray   массив для сортировки
+     * @param from       индекс начала диапазона (включительно)
+     * @param to         индекс конца диапазона (не включительно)
+     * @param comparator порядок
+     */
+    public static void sortInPlace(final int[] intArray, final int from, final int to,
+                                   final IntComparator comparator) {
+        if (comparator == IntComparator.NATURAL) {
+            sortInPlace(intArray, from, to);
+            return;
+        }
+        if (comparator == IntComparator.REVERSE) {
+            sortDescendingInPlace(intArray, from, to);
+            return;
+        }
+        checkRange(intArray, from, to);
+        if (comparator == null) {
+            throw (new ArraySorterException("Comparator must not be null"));
+        }
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, comparator)) {
+            ComparatorSort.sort(intArray, from, to, comparator);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.COMPARATOR.record(to - from, started, allocated);
         }
-
-        return newArray;
     }
 
     /**
-     * Коктейльная сортировка.
-     * Меняем пары, ходим по массиву туда-обратно
+     * Сортировка по убыванию.
+     * Без разворота и без смены знака, которая переполняется
+     * на Integer.MIN_VALUE.
      *
      * @param intArray массив для сортировки
-     * @return сортированный массив
+     * @return сортированный по убыванию массив
      */
-    public static int[] sortCocktail(final int[] intArray) {
+    public static int[] sortDescending(final int[] intArray) {
         if (intArray.length < 1) {
             throw (new ArraySorterException("Input Array is empty"));
         } else if (intArray.length == 1) {
@@ -172,98 +351,630 @@ public final class ArraySorter {
         }
 
         int[] newArray = intArray.clone();
-        int left = 0;
-        int right = newArray.length - 1;
+        sortDescendingInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
 
-        /* был ли обмен
-         * (если не было, значит, всё в порядке, останавливаем цикл)
-         */
-        boolean swapped = false;
-        // пока проверяемый диапазон не сожмётся, проверяем
-        while (left < right) {
-            swapped = false;
-            // проходим по массиву вправо, исправляя порядок пар
-            for (int i = left; i < right; i++) {
-                if (newArray[i] > newArray[i + 1]) {
-                    newArray = swapValuesInIntArray(newArray, i + 1, i);
-                    swapped = true;
-                }
-            }
-            // если замен не было, значит, массив отсортирован
-            if (!swapped) {
-                break;
-            }
-            right--;
+    /**
+     * Сортировка по убыванию на месте.
+     * Большие диапазоны сортируются поразрядно с инвертированным ключом
+     * (value ^ 0x7FFFFFFF), небольшие - интроспективной сортировкой
+     * побитовых дополнений: ~value меняет порядок без переполнения.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortDescendingInPlace(final int[] intArray,
+                                             final int from, final int to) {
+        sortDescendingInPlace(intArray, from, to, unpooled());
+    }
 
-            swapped = false;
-            // проходим по массиву влево
-            for (int j = right; j > left; j--) {
-                if (newArray[j - 1] > newArray[j]) {
-                    newArray = swapValuesInIntArray(newArray, j - 1, j);
-                    swapped = true;
-                }
+    /**
+     * Сортировка по убыванию на месте с рабочей областью вызывающего.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace рабочая область
+     */
+    public static void sortDescendingInPlace(final int[] intArray,
+                                             final int from, final int to,
+                                             final SortWorkspace workspace) {
+        checkRange(intArray, from, to);
+        checkWorkspace(workspace);
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (Presortedness.presorted(intArray, from, to, Presortedness.DESCENDING)) {
+            // упорядоченный по убыванию диапазон не трогаем
+        } else if (length >= AdaptiveSort.RADIX_MIN) {
+            RadixSort.sort(intArray, from, to, workspace.buffer(length),
+                    RadixSort.DESCENDING_FLIP, workspace.histogram());
+        } else {
+            // кусок небольшой и лежит в кэше: два прохода дешевле копии ядра
+            for (int i = from; i < to; i++) {
+                intArray[i] = ~intArray[i];
             }
-            // если замен не было, значит, массив отсортирован
-            if (!swapped) {
-                break;
+            IntroSort.sort(intArray, from, to);
+            for (int i = from; i < to; i++) {
+                intArray[i] = ~intArray[i];
             }
-            left++;
         }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.DESCENDING.record(length, started, allocated);
+        }
+    }
 
-        return newArray;
+    /**
+     * Какой алгоритм выбрала бы адаптивная сортировка
+     * для диапазона [from, to). Массив не меняется.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return алгоритм, который был бы применён
+     */
+    public static SortStrategy chooseStrategy(final int[] intArray,
+                                              final int from, final int to) {
+        checkRange(intArray, from, to);
+        return AdaptiveSort.choose(intArray, from, to);
     }
 
     /**
-     * Быстрая сортировка.
-     * Берём значение в середине массива,
-     * ищем слева значения больше, справа меньше,
-     * меняем местами, пока проверяемые ячейки не сойдутся.
-     * В месте схода проверяемых ячеек массив разделяется на 2 куска,
-     * которые проверяем рекурсией
+     * Меры беспорядка массива: число серий, спусков и инверсий.
+     * Массив не меняется.
      *
-     * @param intArray массив для сортировки
-     * @return сортированный массив
+     * @param intArray массив
+     * @return меры беспорядка
      */
-    public static int[] sortQuick(final int[] intArray) {
-        if (intArray.length < 1) {
+    public static Disorder measureDisorder(final int[] intArray) {
+        return measureDisorder(intArray, 0, intArray.length);
+    }
+
+    /**
+     * Меры беспорядка диапазона [from, to). Массив не меняется.
+     * Серии и спуски считаются точно за один проход.
+     * Инверсии считаются точно для коротких диапазонов,
+     * для длинных оцениваются по случайной выборке пар.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return меры беспорядка
+     */
+    public static Disorder measureDisorder(final int[] intArray,
+                                           final int from, final int to) {
+        checkRange(intArray, from, to);
+        return Presortedness.measure(intArray, from, to);
+    }
+
+    /**
+     * Сортировка индексов (argsort).
+     * Данные не двигаются: возвращается перестановка индексов,
+     * при которой ключи идут по возрастанию.
+     * Равные ключи сохраняют исходный порядок.
+     * Перестановку можно применить к нескольким столбцам
+     * через Permutations.apply.
+     *
+     * @param keys массив ключей
+     * @return перестановка индексов
+     */
+    public static int[] argsort(final int[] keys) {
+        if (keys.length < 1) {
             throw (new ArraySorterException("Input Array is empty"));
-        } else if (intArray.length == 1) {
-            return intArray;
         }
-        return sortQuickDivide(intArray, 0, intArray.length - 1);
+
+        int[] permutation = new int[keys.length];
+        IndexSort.argsort(keys, 0, keys.length, permutation);
+        return permutation;
     }
 
     /**
-     * Вспомогательный метод для быстрой сортировки.
+     * Сортировка индексов диапазона [from, to) в массив вызывающего.
+     * В permutation[0, to - from) записываются индексы from..to-1,
+     * упорядоченные по ключам. Ключи не меняются, память не выделяется.
+     * Индексы абсолютные; к столбцам результат применяется через
+     * Permutations.apply(permutation, from, to, column).
      *
-     * @param intArray массив для сортировки
-     * @param start    левый край массива
-     * @param end      правй край массива
-     * @return сортированный массив
+     * @param keys        массив ключей
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param permutation массив для результата длиной не меньше to - from
      */
-    private static int[] sortQuickDivide(final int[] intArray,
-                                         final int start, final int end) {
-        if (end <= start) {
-            return intArray;
+    public static void argsort(final int[] keys, final int from, final int to,
+                               final int[] permutation) {
+        checkRange(keys, from, to);
+        checkBuffer(permutation, to - from);
+        IndexSort.argsort(keys, from, to, permutation);
+    }
+
+    /**
+     * Стабильная сортировка массива объектов по целочисленному ключу.
+     * Ключи извлекаются один раз в int[], индексы сортируются
+     * примитивным argsort без упаковки и вызовов компаратора,
+     * затем объекты переставляются на месте по циклам перестановки.
+     *
+     * @param array массив объектов
+     * @param key   функция извлечения ключа
+     * @param <T>   тип объектов
+     */
+    public static <T> void sortByKey(final T[] array, final ToIntFunction<? super T> key) {
+        sortByKey(array, 0, array.length, key);
+    }
+
+    /**
+     * Стабильная сортировка диапазона [from, to) массива объектов
+     * по целочисленному ключу. Выделяет два int[] размером с диапазон.
+     *
+     * @param array массив объектов
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     * @param key   функция извлечения ключа
+     * @param <T>   тип объектов
+     */
+    public static <T> void sortByKey(final T[] array, final int from, final int to,
+                                     final ToIntFunction<? super T> key) {
+        sortByKey(array, from, to, key, unpooled());
+    }
+
+    /**
+     * Стабильная сортировка диапазона [from, to) массива объектов
+     * по целочисленному ключу с рабочей областью вызывающего:
+     * ключи и перестановка берутся из неё.
+     *
+     * @param array     массив объектов
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param key       функция извлечения ключа
+     * @param workspace рабочая область
+     * @param <T>       тип объектов
+     */
+    public static <T> void sortByKey(final T[] array, final int from, final int to,
+                                     final ToIntFunction<? super T> key,
+                                     final SortWorkspace workspace) {
+        checkRange(array.length, from, to);
+        checkWorkspace(workspace);
+        if (key == null) {
+            throw (new ArraySorterException("Key extractor must not be null"));
+        }
+        int length = to - from;
+        if (length < 2) {
+            return;
         }
 
-        int[] newArray = intArray.clone();
-        // опорный элемент из середины массива
-        int baseIndex = start + (end - start) / 2;
-        int baseValue = newArray[baseIndex];
+        int[] keys = workspace.buffer(length);
+        for (int i = 0; i < length; i++) {
+            keys[i] = key.applyAsInt(array[from + i]);
+        }
+        int[] permutation = workspace.permutation(length);
+        IndexSort.argsort(keys, 0, length, permutation);
 
-        // слева ищем значение больше опорного
-        // справа ищем значение меньше опорного
-        int left = start;
-        int right = end;
-        while (left < right) {
-            /*
-             * идём вправо от последней проверки до опоры,
-             * пока не натыкаемся на > опоры
-             */
-            int i = left;
-            for (; i < baseIndex; i++) {
-                if (newArray[i] > baseValue) {
+        /*
+         * обход циклов: на место i встаёт прежний array[from + permutation[i]],
+         * пройденные позиции помечаются -1 (перестановка больше не нужна)
+         */
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            T first = array[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                permutation[current] = -1;
+                if (next == start) {
+                    array[from + current] = first;
+                    break;
+                }
+                array[from + current] = array[from + next];
+                current = next;
+            }
+        }
+    }
+
+    /**
+     * Выбор k-го наименьшего элемента диапазона (быстрый выбор).
+     * Диапазон переставляется так, что на месте from + k
+     * стоит элемент, который был бы там после сортировки,
+     * слева от него - не больше, справа - не меньше.
+     * Худший случай O(n) за счёт медианы медиан.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param k        номер элемента с нуля, от 0 до to - from - 1
+     * @return k-й наименьший элемент
+     */
+    public static int selectKth(final int[] intArray, final int from, final int to,
+                                final int k) {
+        checkRange(intArray, from, to);
+        checkK(k, to - from, false);
+        Selection.select(intArray, from, to, from + k);
+        return intArray[from + k];
+    }
+
+    /**
+     * Частичная сортировка: k наименьших элементов диапазона
+     * по возрастанию в [from, from + k), остальные - в произвольном порядке.
+     * O(n + k log k).
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param k        сколько наименьших элементов сортировать
+     */
+    public static void partialSort(final int[] intArray, final int from, final int to,
+                                   final int k) {
+        checkRange(intArray, from, to);
+        checkK(k, to - from, true);
+        if (k == 0) {
+            return;
+        }
+        Selection.select(intArray, from, to, from + k - 1);
+        IntroSort.sort(intArray, from, from + k - 1);
+    }
+
+    /**
+     * Частичная сортировка: k наибольших элементов диапазона
+     * по возрастанию в [to - k, to), остальные - в произвольном порядке.
+     * O(n + k log k).
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param k        сколько наибольших элементов сортировать
+     */
+    public static void partialSortLargest(final int[] intArray, final int from,
+                                          final int to, final int k) {
+        checkRange(intArray, from, to);
+        checkK(k, to - from, true);
+        if (k == 0) {
+            return;
+        }
+        Selection.select(intArray, from, to, to - k);
+        IntroSort.sort(intArray, to - k + 1, to);
+    }
+
+    /**
+     * Сортировка выбором.
+     * Проходим по массиву, суём максимальные значения в конец.
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortSelection(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortSelectionInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Сортировка выбором на месте.
+     * Сортирует диапазон [from, to) переданного массива,
+     * не выделяя памяти.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortSelectionInPlace(final int[] intArray,
+                                            final int from, final int to) {
+        checkRange(intArray, from, to);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        long comparisons = 0;
+        long swaps = 0;
+        /*
+         * записываем последний индекс,
+         * упорядоченный (или развёрнутый) диапазон проходов не требует
+         */
+        int lastIndex = Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)
+                ? from : to - 1;
+        /*
+         * проверяем диапазон from-lastIndex,
+         * после каждой проверки сдвигая lastIndex, пока не дойдём до from
+         */
+        while (lastIndex > from) {
+            /*
+             * находим максимальное значение
+             * в регионе from-lastIndex
+             * за максимальное берём то,
+             * что в конце проверяемого диапазона
+             */
+            int maxValueIndex = lastIndex;
+            if (VectorSupport.AVAILABLE && lastIndex - from >= VectorSupport.MIN_LENGTH) {
+                // векторный поиск максимума, тот же индекс, что и в цикле ниже
+                maxValueIndex = VectorKernels.maxIndex(intArray, from, lastIndex);
+                if (SortMetrics.ENABLED) {
+                    comparisons += lastIndex - from + 1;
+                }
+            } else {
+                int maxValue = intArray[maxValueIndex];
+                for (int i = from; i <= lastIndex; i++) {
+                    if (SortMetrics.ENABLED) {
+                        comparisons++;
+                    }
+                    if (intArray[i] > maxValue) {
+                        maxValue = intArray[i];
+                        maxValueIndex = i;
+                    }
+                }
+            }
+            /* меняем значения слота с максимальным значением
+             * со значением последнего слота, если они не равны
+             */
+            if (maxValueIndex != lastIndex) {
+                swapValuesInIntArray(intArray, maxValueIndex, lastIndex);
+                if (SortMetrics.ENABLED) {
+                    swaps++;
+                }
+            }
+            // сдвигаем последний индекс
+            lastIndex--;
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.SELECTION.count(comparisons, swaps);
+            SortMetrics.SELECTION.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Гномья сортировка.
+     * Проверяем пары.
+     * Если нечего менять, шагаем вперёд,
+     * если нет порядка, меняем и шагаем назад
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortGnome(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortGnomeInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Гномья сортировка на месте.
+     * Сортирует диапазон [from, to) переданного массива,
+     * не выделяя памяти.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortGnomeInPlace(final int[] intArray,
+                                        final int from, final int to) {
+        checkRange(intArray, from, to);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        long comparisons = 0;
+        long swaps = 0;
+        int i = from;
+        // упорядоченный (или развёрнутый) диапазон проходов не требует
+        int j = Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)
+                ? to : from + 1;
+
+        // пока второй индекс не выйдет за пределы диапазона
+        while (j < to) {
+            if (SortMetrics.ENABLED) {
+                comparisons++;
+            }
+            // если порядок неправильный, меняем местами
+            if (intArray[i] > intArray[j]) {
+                swapValuesInIntArray(intArray, i, j);
+                if (SortMetrics.ENABLED) {
+                    swaps++;
+                }
+                // если есть, куда шагать, шаг назад, если нет, шаг вперёд
+                if (i > from) {
+                    i--;
+                    j--;
+                } else {
+                    i++;
+                    j++;
+                }
+                // если порядок правильный, шаг вперёд
+            } else {
+                i++;
+                j++;
+            }
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.GNOME.count(comparisons, swaps);
+            SortMetrics.GNOME.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Коктейльная сортировка.
+     * Меняем пары, ходим по массиву туда-обратно
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortCocktail(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortCocktailInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Коктейльная сортировка на месте.
+     * Сортирует диапазон [from, to) переданного массива,
+     * не выделяя памяти.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortCocktailInPlace(final int[] intArray,
+                                           final int from, final int to) {
+        checkRange(intArray, from, to);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        long comparisons = 0;
+        long swaps = 0;
+        int left = from;
+        // упорядоченный (или развёрнутый) диапазон проходов не требует
+        int right = Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)
+                ? from : to - 1;
+
+        /* был ли обмен
+         * (если не было, значит, всё в порядке, останавливаем цикл)
+         */
+        boolean swapped = false;
+        // пока проверяемый диапазон не сожмётся, проверяем
+        while (left < right) {
+            swapped = false;
+            // проходим по массиву вправо, исправляя порядок пар
+            for (int i = left; i < right; i++) {
+                if (intArray[i] > intArray[i + 1]) {
+                    swapValuesInIntArray(intArray, i + 1, i);
+                    swapped = true;
+                    if (SortMetrics.ENABLED) {
+                        swaps++;
+                    }
+                }
+            }
+            if (SortMetrics.ENABLED) {
+                comparisons += right - left;
+            }
+            // если замен не было, значит, массив отсортирован
+            if (!swapped) {
+                break;
+            }
+            right--;
+
+            swapped = false;
+            // проходим по массиву влево
+            for (int j = right; j > left; j--) {
+                if (intArray[j - 1] > intArray[j]) {
+                    swapValuesInIntArray(intArray, j - 1, j);
+                    swapped = true;
+                    if (SortMetrics.ENABLED) {
+                        swaps++;
+                    }
+                }
+            }
+            if (SortMetrics.ENABLED) {
+                comparisons += right - left;
+            }
+            // если замен не было, значит, массив отсортирован
+            if (!swapped) {
+                break;
+            }
+            left++;
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.COCKTAIL.count(comparisons, swaps);
+            SortMetrics.COCKTAIL.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Быстрая сортировка.
+     * Берём значение в середине массива,
+     * ищем слева значения больше, справа меньше,
+     * меняем местами, пока проверяемые ячейки не сойдутся.
+     * В месте схода проверяемых ячеек массив разделяется на 2 куска,
+     * которые проверяем рекурсией
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortQuick(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortQuickInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Быстрая сортировка на месте.
+     * Сортирует диапазон [from, to) переданного массива,
+     * не выделяя памяти.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortQuickInPlace(final int[] intArray,
+                                        final int from, final int to) {
+        checkRange(intArray, from, to);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            sortQuickDivide(intArray, from, to - 1, 1);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.QUICK.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Вспомогательный метод для быстрой сортировки.
+     * Изменяет массив на месте.
+     *
+     * @param intArray массив для сортировки
+     * @param start    левый край массива
+     * @param end      правй край массива
+     * @param depth    глубина рекурсии, для инструментовки
+     */
+    private static void sortQuickDivide(final int[] intArray,
+                                        final int start, final int end,
+                                        final int depth) {
+        if (end <= start) {
+            return;
+        }
+        long comparisons = 0;
+        long swaps = 0;
+
+        // опорный элемент из середины массива
+        int baseIndex = start + (end - start) / 2;
+        int baseValue = intArray[baseIndex];
+
+        // слева ищем значение больше опорного
+        // справа ищем значение меньше опорного
+        int left = start;
+        int right = end;
+        while (left < right) {
+            /*
+             * идём вправо от последней проверки до опоры,
+             * пока не натыкаемся на > опоры
+             */
+            int i = left;
+            for (; i < baseIndex; i++) {
+                if (SortMetrics.ENABLED) {
+                    comparisons++;
+                }
+                if (intArray[i] > baseValue) {
                     break;
                 } else {
                     left++;
@@ -276,7 +987,10 @@ public final class ArraySorter {
              */
             int j = right;
             for (; j > baseIndex; j--) {
-                if (newArray[j] < baseValue) {
+                if (SortMetrics.ENABLED) {
+                    comparisons++;
+                }
+                if (intArray[j] < baseValue) {
                     break;
                 } else {
                     right--;
@@ -286,7 +1000,10 @@ public final class ArraySorter {
             // если после изменений края не пересеклись
             if (left < right) {
                 // меняем значения
-                newArray = swapValuesInIntArray(newArray, left, right);
+                swapValuesInIntArray(intArray, left, right);
+                if (SortMetrics.ENABLED) {
+                    swaps++;
+                }
                 /*
                  * если с какого-то конца дошли до опоры,
                  * приравниваем опору к другому краю
@@ -303,8 +1020,597 @@ public final class ArraySorter {
          * рекурсвно сортируем кусочки:
          * от начала до опоры и от опоры+1 до конца
          */
-        newArray = sortQuickDivide(newArray, start, baseIndex);
-        newArray = sortQuickDivide(newArray, baseIndex + 1, end);
+        if (SortMetrics.ENABLED) {
+            SortMetrics.QUICK.count(comparisons, swaps);
+            SortMetrics.QUICK.depth(depth);
+        }
+        sortQuickDivide(intArray, start, baseIndex, depth + 1);
+        sortQuickDivide(intArray, baseIndex + 1, end, depth + 1);
+    }
+
+    /**
+     * Интроспективная сортировка.
+     * Быстрая сортировка с трёхсторонним разбиением
+     * и выбором опоры медианой, которая при слишком глубокой рекурсии
+     * переходит на пирамидальную сортировку.
+     * В отличие от sortQuick худший случай O(n log n).
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortIntro(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortIntroInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Интроспективная сортировка на месте.
+     * Сортирует диапазон [from, to) переданного массива,
+     * не выделяя памяти.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortIntroInPlace(final int[] intArray,
+                                        final int from, final int to) {
+        checkRange(intArray, from, to);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            IntroSort.sort(intArray, from, to);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.INTRO.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Сортировка подсчётом.
+     * Считаем, сколько раз встречается каждое значение,
+     * и выписываем значения по порядку. O(n + range):
+     * выгодна, когда значения лежат в узком диапазоне.
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortCounting(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortCountingInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Сортировка подсчётом на месте.
+     * Выделяет массив счётчиков размером max - min + 1,
+     * поэтому диапазон значений ограничен 2^24.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortCountingInPlace(final int[] intArray,
+                                           final int from, final int to) {
+        sortCountingInPlace(intArray, from, to, unpooled());
+    }
+
+    /**
+     * Сортировка подсчётом на месте
+     * со счётчиками из рабочей области вызывающего.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace рабочая область
+     */
+    public static void sortCountingInPlace(final int[] intArray,
+                                           final int from, final int to,
+                                           final SortWorkspace workspace) {
+        checkRange(intArray, from, to);
+        checkWorkspace(workspace);
+        if (to - from < 2) {
+            return;
+        }
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        long minMax = CountingSort.minMax(intArray, from, to);
+        int min = (int) (minMax >> 32);
+        int max = (int) minMax;
+        if ((long) max - min >= CountingSort.MAX_RANGE) {
+            throw (new ArraySorterException("Value range [" + min + ", " + max
+                    + "] is too wide for counting sort"));
+        }
+        // проверка после минимума и максимума: слишком широкий диапазон
+        // отвергается независимо от порядка
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            CountingSort.sort(intArray, from, to, min, max, workspace.counts(max - min + 1));
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.COUNTING.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Сортировка для данных с большим числом повторов.
+     * Предварительный проход находит минимум и максимум:
+     * если диапазон значений уже длины массива, сортируем подсчётом,
+     * иначе - быстрой сортировкой с трёхсторонним разбиением
+     * (голландский флаг), где равные опоре сразу встают на место
+     * и в рекурсию не попадают.
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortThreeWay(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortThreeWayInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Сортировка для данных с большим числом повторов на месте.
+     * Выделяет память только при сортировке подсчётом
+     * (не больше длины диапазона).
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortThreeWayInPlace(final int[] intArray,
+                                           final int from, final int to) {
+        sortThreeWayInPlace(intArray, from, to, unpooled());
+    }
+
+    /**
+     * Сортировка для данных с большим числом повторов на месте
+     * со счётчиками из рабочей области вызывающего.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace рабочая область
+     */
+    public static void sortThreeWayInPlace(final int[] intArray,
+                                           final int from, final int to,
+                                           final SortWorkspace workspace) {
+        checkRange(intArray, from, to);
+        checkWorkspace(workspace);
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            long minMax = CountingSort.minMax(intArray, from, to);
+            int min = (int) (minMax >> 32);
+            int max = (int) minMax;
+            if ((long) max - min < length) {
+                CountingSort.sort(intArray, from, to, min, max,
+                        workspace.counts(max - min + 1));
+            } else {
+                IntroSort.sort(intArray, from, to);
+            }
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.THREE_WAY.record(length, started, allocated);
+        }
+    }
+
+    /**
+     * Быстрая сортировка с векторным разбиением (jdk.incubator.vector).
+     * Если модуль не подключён (--add-modules jdk.incubator.vector)
+     * или процессор не поддерживает 256-битные векторы,
+     * работает как sortIntro.
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortVector(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortVectorInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Быстрая сортировка с векторным разбиением на месте.
+     * Выделяет вспомогательный массив размером с диапазон.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortVectorInPlace(final int[] intArray,
+                                         final int from, final int to) {
+        sortVectorInPlace(intArray, from, to, unpooled());
+    }
+
+    /**
+     * Быстрая сортировка с векторным разбиением на месте
+     * с вспомогательным массивом из рабочей области вызывающего.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace рабочая область
+     */
+    public static void sortVectorInPlace(final int[] intArray,
+                                         final int from, final int to,
+                                         final SortWorkspace workspace) {
+        checkRange(intArray, from, to);
+        checkWorkspace(workspace);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            // упорядоченный диапазон не трогаем
+        } else if (VectorSupport.AVAILABLE && to - from >= VectorSupport.MIN_LENGTH) {
+            VectorSort.sort(intArray, from, to,
+                    workspace.buffer(to - from + VectorKernels.LANES));
+        } else {
+            IntroSort.sort(intArray, from, to);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.VECTOR.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Доступны ли векторные ядра в этой JVM.
+     *
+     * @return true, если sortVector и сортировка выбором
+     * используют Vector API
+     */
+    public static boolean isVectorized() {
+        return VectorSupport.AVAILABLE;
+    }
+
+    /**
+     * Поразрядная сортировка.
+     * Раскладываем числа по корзинам побайтно, от младшего байта к старшему.
+     * Линейное время, выгодна на больших массивах.
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortRadix(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortRadixInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Поразрядная сортировка на месте.
+     * Выделяет вспомогательный массив размером с диапазон.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortRadixInPlace(final int[] intArray,
+                                        final int from, final int to) {
+        sortRadixInPlace(intArray, from, to, unpooled());
+    }
+
+    /**
+     * Поразрядная сортировка на месте
+     * с буфером и гистограммами из рабочей области вызывающего.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace рабочая область
+     */
+    public static void sortRadixInPlace(final int[] intArray,
+                                        final int from, final int to,
+                                        final SortWorkspace workspace) {
+        checkRange(intArray, from, to);
+        checkWorkspace(workspace);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            RadixSort.sort(intArray, from, to, workspace.buffer(to - from),
+                    RadixSort.SIGN_FLIP, workspace.histogram());
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.RADIX.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Поразрядная сортировка на месте
+     * с вспомогательным массивом вызывающего.
+     * Буфер можно переиспользовать между вызовами,
+     * гистограммы берутся из рабочей области потока (SortWorkspace.current()),
+     * так что повторные вызовы не выделяют памяти.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param buffer   вспомогательный массив длиной не меньше to - from
+     */
+    public static void sortRadixInPlace(final int[] intArray,
+                                        final int from, final int to,
+                                        final int[] buffer) {
+        checkRange(intArray, from, to);
+        checkBuffer(buffer, to - from);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            RadixSort.sort(intArray, from, to, buffer, RadixSort.SIGN_FLIP,
+                    SortWorkspace.current().histogram());
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.RADIX.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Поразрядная сортировка на месте
+     * с параллельным подсчётом гистограмм и раскладкой по корзинам.
+     * Небольшие диапазоны сортируются последовательно.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param buffer   вспомогательный массив длиной не меньше to - from
+     * @param pool     пул потоков
+     */
+    public static void sortRadixParallelInPlace(final int[] intArray,
+                                                final int from, final int to,
+                                                final int[] buffer,
+                                                final ForkJoinPool pool) {
+        checkRange(intArray, from, to);
+        checkBuffer(buffer, to - from);
+        checkPool(pool);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            RadixSort.sortParallel(intArray, from, to, buffer, pool);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.RADIX.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Стабильная сортировка слиянием с поиском готовых серий (TimSort).
+     * Возрастающие и убывающие куски используются как есть,
+     * поэтому почти отсортированный массив сортируется почти за O(n).
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortMerge(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortMergeInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Стабильная сортировка слиянием на месте.
+     * Выделяет вспомогательный массив в половину диапазона.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortMergeInPlace(final int[] intArray,
+                                        final int from, final int to) {
+        sortMergeInPlace(intArray, from, to, unpooled());
+    }
+
+    /**
+     * Стабильная сортировка слиянием на месте
+     * с буфером и стеком серий из рабочей области вызывающего.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param workspace рабочая область
+     */
+    public static void sortMergeInPlace(final int[] intArray,
+                                        final int from, final int to,
+                                        final SortWorkspace workspace) {
+        checkRange(intArray, from, to);
+        checkWorkspace(workspace);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            RunMergeSort.sort(intArray, from, to, workspace.buffer((to - from) / 2),
+                    workspace.mergeState());
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.MERGE.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Стабильная сортировка слиянием на месте
+     * с вспомогательным массивом вызывающего.
+     * Буфер можно переиспользовать между вызовами.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param buffer   вспомогательный массив длиной не меньше (to - from) / 2
+     */
+    public static void sortMergeInPlace(final int[] intArray,
+                                        final int from, final int to,
+                                        final int[] buffer) {
+        checkRange(intArray, from, to);
+        checkBuffer(buffer, (to - from) / 2);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            RunMergeSort.sort(intArray, from, to, buffer);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.MERGE.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Параллельная сортировка.
+     * Делим массив на куски, сортируем их в общем ForkJoinPool
+     * и параллельно сливаем.
+     *
+     * @param intArray массив для сортировки
+     * @return сортированный массив
+     */
+    public static int[] sortParallel(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (intArray.length == 1) {
+            return intArray;
+        }
+
+        int[] newArray = intArray.clone();
+        sortParallelInPlace(newArray, 0, newArray.length);
         return newArray;
     }
+
+    /**
+     * Параллельная сортировка на месте в общем ForkJoinPool
+     * с порогом по умолчанию.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public static void sortParallelInPlace(final int[] intArray,
+                                           final int from, final int to) {
+        sortParallelInPlace(intArray, from, to,
+                ForkJoinPool.commonPool(), PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Параллельная сортировка на месте в переданном пуле.
+     * Куски не больше threshold сортируются последовательно.
+     * Выделяет вспомогательный массив размером с диапазон,
+     * если диапазон больше порога.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param pool      пул потоков
+     * @param threshold порог последовательной сортировки, >0
+     */
+    public static void sortParallelInPlace(final int[] intArray,
+                                           final int from, final int to,
+                                           final ForkJoinPool pool,
+                                           final int threshold) {
+        checkRange(intArray, from, to);
+        checkPool(pool);
+        if (threshold < 1) {
+            throw (new ArraySorterException("Threshold must be positive"));
+        }
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        if (!Presortedness.presorted(intArray, from, to, Presortedness.ASCENDING)) {
+            ParallelSort.sort(intArray, from, to, pool, threshold);
+        }
+        if (SortMetrics.ENABLED) {
+            SortMetrics.PARALLEL.record(to - from, started, allocated);
+        }
+    }
+
+    /**
+     * Пакетная сортировка множества маленьких массивов,
+     * лежащих подряд в data (формат CSR).
+     * Сегмент i - это [offsets[i], offsets[i + 1]),
+     * каждый сортируется на месте независимо от остальных.
+     * Проверка и учёт выполняются один раз на весь пакет,
+     * сегменты до 8 элементов сортируются сетями сортировки.
+     *
+     * @param data    данные всех сегментов
+     * @param offsets неубывающие границы сегментов, число сегментов + 1
+     */
+    public static void sortSegments(final int[] data, final int[] offsets) {
+        checkOffsets(data, offsets);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        SegmentSort.sort(data, offsets, 0, offsets.length - 1);
+        if (SortMetrics.ENABLED) {
+            SortMetrics.SEGMENTS.record(offsets[offsets.length - 1] - offsets[0],
+                    started, allocated);
+        }
+    }
+
+    /**
+     * Параллельная пакетная сортировка сегментов в переданном пуле.
+     * Сегменты распределяются по задачам поровну по числу элементов.
+     *
+     * @param data    данные всех сегментов
+     * @param offsets неубывающие границы сегментов, число сегментов + 1
+     * @param pool    пул потоков
+     */
+    public static void sortSegmentsParallel(final int[] data, final int[] offsets,
+                                            final ForkJoinPool pool) {
+        checkOffsets(data, offsets);
+        checkPool(pool);
+        final long started = SortMetrics.ENABLED ? System.nanoTime() : 0L;
+        final long allocated = SortMetrics.ENABLED ? SortMetrics.allocatedBytes() : 0L;
+        SegmentSort.sortParallel(data, offsets, pool);
+        if (SortMetrics.ENABLED) {
+            SortMetrics.SEGMENTS.record(offsets[offsets.length - 1] - offsets[0],
+                    started, allocated);
+        }
+    }
+
+    /**
+     * Проверка границ сегментов.
+     * Вспомогательный метод
+     *
+     * @param data    данные всех сегментов
+     * @param offsets границы сегментов
+     */
+    private static void checkOffsets(final int[] data, final int[] offsets) {
+        if (offsets.length < 1) {
+            throw (new ArraySorterException("Offsets array is empty"));
+        }
+        checkRange(data, offsets[0], offsets[offsets.length - 1]);
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw (new ArraySorterException("Offsets must be non-decreasing, but offsets["
+                        + i + "] = " + offsets[i] + " < " + offsets[i - 1]));
+            }
+        }
+    }
 }
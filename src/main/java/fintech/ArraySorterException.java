@@ -9,4 +9,8 @@ public class ArraySorterException extends RuntimeException {
     public ArraySorterException(final String message) {
         super(message);
     }
+
+    public ArraySorterException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
 }
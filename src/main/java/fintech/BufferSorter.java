@@ -0,0 +1,190 @@
+package fintech;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+/**
+ * Класс содержит статические методы
+ * для сортировки целых чисел прямо в буферах NIO,
+ * в том числе в прямых (off-heap) буферах,
+ * без копирования в int[].
+ * <p>
+ * Алгоритм - интроспективная сортировка, как ArraySorter.sortIntro,
+ * работающая через абсолютные get/put буфера.
+ * Позиция и предел буфера не меняются.
+ */
+public final class BufferSorter {
+
+    /**
+     * Куски не больше этого размера сортируются вставками.
+     */
+    private static final int INSERTION_THRESHOLD = 24;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private BufferSorter() {
+    }
+
+    /**
+     * Сортировка элементов буфера между позицией и пределом.
+     *
+     * @param buffer буфер для сортировки
+     */
+    public static void sort(final IntBuffer buffer) {
+        sort(buffer, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * Сортировка элементов буфера с абсолютными индексами [from, to).
+     *
+     * @param buffer буфер для сортировки
+     * @param from   индекс начала диапазона (включительно)
+     * @param to     индекс конца диапазона (не включительно)
+     */
+    public static void sort(final IntBuffer buffer, final int from, final int to) {
+        ArraySorter.checkRange(buffer.limit(), from, to);
+        if (buffer.isReadOnly()) {
+            throw (new ArraySorterException("Buffer is read-only"));
+        }
+        int length = to - from;
+        if (length > 1) {
+            sort(buffer, from, to, 2 * (31 - Integer.numberOfLeadingZeros(length)));
+        }
+    }
+
+    /**
+     * Сортировка int-записей в байтовом буфере между позицией и пределом.
+     * Порядок байтов самого буфера не меняется,
+     * записи читаются и пишутся в порядке order.
+     * Подходит и для MemorySegment: segment.asByteBuffer().
+     *
+     * @param buffer байтовый буфер, число байтов кратно 4
+     * @param order  порядок байтов записей
+     */
+    public static void sort(final ByteBuffer buffer, final ByteOrder order) {
+        if (buffer.remaining() % Integer.BYTES != 0) {
+            throw (new ArraySorterException("Buffer size " + buffer.remaining()
+                    + " is not a multiple of " + Integer.BYTES));
+        }
+        sort(buffer.duplicate().order(order).asIntBuffer());
+    }
+
+    /**
+     * Рекурсивная часть интроспективной сортировки.
+     */
+    private static void sort(final IntBuffer buffer, final int from, final int to,
+                             final int depthLimit) {
+        int lo = from;
+        int hi = to;
+        int depth = depthLimit;
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(buffer, lo, hi);
+                return;
+            }
+            depth--;
+
+            int pivot = median(buffer.get(lo), buffer.get(lo + (hi - lo) / 2),
+                    buffer.get(hi - 1));
+            // [lo, lt) < опоры, [lt, i) == опоре, [gt, hi) > опоры
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                int value = buffer.get(i);
+                if (value < pivot) {
+                    buffer.put(i++, buffer.get(lt));
+                    buffer.put(lt++, value);
+                } else if (value > pivot) {
+                    buffer.put(i, buffer.get(--gt));
+                    buffer.put(gt, value);
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                sort(buffer, lo, lt, depth);
+                lo = gt;
+            } else {
+                sort(buffer, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        insertionSort(buffer, lo, hi);
+    }
+
+    /**
+     * Медиана трёх чисел.
+     */
+    private static int median(final int a, final int b, final int c) {
+        if (a < b) {
+            if (b < c) {
+                return b;
+            }
+            return a < c ? c : a;
+        }
+        if (a < c) {
+            return a;
+        }
+        return b < c ? c : b;
+    }
+
+    /**
+     * Сортировка вставками диапазона [from, to).
+     */
+    private static void insertionSort(final IntBuffer buffer, final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = buffer.get(i);
+            int j = i - 1;
+            while (j >= from && buffer.get(j) > value) {
+                buffer.put(j + 1, buffer.get(j));
+                j--;
+            }
+            buffer.put(j + 1, value);
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона [from, to).
+     */
+    private static void heapSort(final IntBuffer buffer, final int from, final int to) {
+        int length = to - from;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(buffer, from, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            int max = buffer.get(from);
+            buffer.put(from, buffer.get(from + end));
+            buffer.put(from + end, max);
+            siftDown(buffer, from, 0, end);
+        }
+    }
+
+    /**
+     * Просеивание вниз в max-куче, лежащей в буфере начиная с base.
+     */
+    private static void siftDown(final IntBuffer buffer, final int base,
+                                 final int index, final int size) {
+        int node = index;
+        int value = buffer.get(base + node);
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            int childValue = buffer.get(base + child);
+            if (child + 1 < size && buffer.get(base + child + 1) > childValue) {
+                child++;
+                childValue = buffer.get(base + child);
+            }
+            if (value >= childValue) {
+                break;
+            }
+            buffer.put(base + node, childValue);
+            node = child;
+        }
+        buffer.put(base + node, value);
+    }
+}
@@ -0,0 +1,155 @@
+package fintech;
+
+/**
+ * Интроспективная сортировка int[] с произвольным IntComparator:
+ * трёхстороннее разбиение по компаратору (равные по компаратору
+ * значения могут различаться, поэтому они собираются в середине,
+ * а не сравниваются на ==), медиана трёх,
+ * вставки для маленьких кусков и пирамида при глубокой рекурсии.
+ */
+final class ComparatorSort {
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private ComparatorSort() {
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте.
+     *
+     * @param intArray   массив для сортировки
+     * @param from       индекс начала диапазона (включительно)
+     * @param to         индекс конца диапазона (не включительно)
+     * @param comparator порядок
+     */
+    static void sort(final int[] intArray, final int from, final int to,
+                     final IntComparator comparator) {
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+        sort(intArray, from, to, comparator, 2 * (31 - Integer.numberOfLeadingZeros(length)));
+    }
+
+    /**
+     * Рекурсивная часть: меньший кусок рекурсией, больший - в цикле.
+     */
+    private static void sort(final int[] intArray, final int from, final int to,
+                             final IntComparator comparator, final int depthLimit) {
+        int lo = from;
+        int hi = to;
+        int depth = depthLimit;
+        while (hi - lo > IntroSort.INSERTION_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(intArray, lo, hi, comparator);
+                return;
+            }
+            depth--;
+
+            int pivot = median(intArray[lo], intArray[lo + (hi - lo) / 2], intArray[hi - 1],
+                    comparator);
+            // [lo, lt) < опоры, [lt, i) == опоре, [gt, hi) > опоры
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                int value = intArray[i];
+                int c = comparator.compare(value, pivot);
+                if (c < 0) {
+                    intArray[i++] = intArray[lt];
+                    intArray[lt++] = value;
+                } else if (c > 0) {
+                    intArray[i] = intArray[--gt];
+                    intArray[gt] = value;
+                } else {
+                    i++;
+                }
+            }
+
+            if (lt - lo < hi - gt) {
+                sort(intArray, lo, lt, comparator, depth);
+                lo = gt;
+            } else {
+                sort(intArray, gt, hi, comparator, depth);
+                hi = lt;
+            }
+        }
+        insertionSort(intArray, lo, hi, comparator);
+    }
+
+    /**
+     * Медиана трёх чисел по компаратору.
+     */
+    private static int median(final int a, final int b, final int c,
+                              final IntComparator comparator) {
+        if (comparator.compare(a, b) < 0) {
+            if (comparator.compare(b, c) < 0) {
+                return b;
+            }
+            return comparator.compare(a, c) < 0 ? c : a;
+        }
+        if (comparator.compare(a, c) < 0) {
+            return a;
+        }
+        return comparator.compare(b, c) < 0 ? c : b;
+    }
+
+    /**
+     * Сортировка вставками диапазона [from, to).
+     */
+    private static void insertionSort(final int[] intArray, final int from, final int to,
+                                      final IntComparator comparator) {
+        for (int i = from + 1; i < to; i++) {
+            int value = intArray[i];
+            int j = i - 1;
+            while (j >= from && comparator.compare(intArray[j], value) > 0) {
+                intArray[j + 1] = intArray[j];
+                j--;
+            }
+            intArray[j + 1] = value;
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона [from, to).
+     */
+    private static void heapSort(final int[] intArray, final int from, final int to,
+                                 final IntComparator comparator) {
+        int length = to - from;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(intArray, from, i, length, comparator);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            int tmp = intArray[from];
+            intArray[from] = intArray[from + end];
+            intArray[from + end] = tmp;
+            siftDown(intArray, from, 0, end, comparator);
+        }
+    }
+
+    /**
+     * Просеивание вниз в max-куче по компаратору.
+     */
+    private static void siftDown(final int[] intArray, final int base, final int index,
+                                 final int size, final IntComparator comparator) {
+        int node = index;
+        int value = intArray[base + node];
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            if (child + 1 < size
+                    && comparator.compare(intArray[base + child + 1], intArray[base + child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(value, intArray[base + child]) >= 0) {
+                break;
+            }
+            intArray[base + node] = intArray[base + child];
+            node = child;
+        }
+        intArray[base + node] = value;
+    }
+}
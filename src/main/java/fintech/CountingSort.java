@@ -0,0 +1,81 @@
+package fintech;
+
+import java.util.Arrays;
+
+/**
+ * Сортировка подсчётом int[].
+ * Выгодна, когда диапазон значений max - min мал
+ * по сравнению с длиной массива.
+ * O(n + range) времени, O(range) памяти.
+ */
+final class CountingSort {
+
+    /**
+     * Наибольший диапазон значений max - min, который ArraySorter
+     * сортирует подсчётом по запросу: 2^24 счётчиков - 64 МБ.
+     */
+    static final int MAX_RANGE = 1 << 24;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private CountingSort() {
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте
+     * со счётчиками в массиве вызывающего.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param min      минимальное значение в диапазоне
+     * @param max      максимальное значение в диапазоне
+     * @param counts   массив счётчиков длиной не меньше max - min + 1,
+     *                 содержимое затирается
+     */
+    static void sort(final int[] intArray, final int from, final int to,
+                     final int min, final int max, final int[] counts) {
+        int range = max - min + 1;
+        Arrays.fill(counts, 0, range, 0);
+        for (int i = from; i < to; i++) {
+            counts[intArray[i] - min]++;
+        }
+        // выписываем значения по порядку, каждое столько раз, сколько встретилось
+        int index = from;
+        for (int k = 0; k < range; k++) {
+            int value = min + k;
+            for (int c = counts[k]; c > 0; c--) {
+                intArray[index++] = value;
+            }
+        }
+    }
+
+    /**
+     * Минимум и максимум непустого диапазона [from, to) за один проход,
+     * векторно, если доступны векторные ядра.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return минимум в старших 32 битах, максимум в младших
+     */
+    static long minMax(final int[] intArray, final int from, final int to) {
+        if (VectorSupport.AVAILABLE && to - from >= VectorSupport.MIN_LENGTH) {
+            return VectorKernels.minMax(intArray, from, to);
+        }
+        int min = intArray[from];
+        int max = min;
+        for (int i = from + 1; i < to; i++) {
+            int value = intArray[i];
+            if (value < min) {
+                min = value;
+            } else if (value > max) {
+                max = value;
+            }
+        }
+        return ((long) min << 32) | (max & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,85 @@
+package fintech;
+
+/**
+ * Меры беспорядка массива, см. ArraySorter.measureDisorder.
+ * Позволяют вызывающему заранее понять, насколько данные
+ * близки к отсортированным, и выбрать алгоритм самому.
+ */
+public final class Disorder {
+
+    private final int length;
+    private final int runs;
+    private final int descents;
+    private final long inversions;
+    private final boolean inversionsExact;
+
+    Disorder(final int length, final int runs, final int descents,
+             final long inversions, final boolean inversionsExact) {
+        this.length = length;
+        this.runs = runs;
+        this.descents = descents;
+        this.inversions = inversions;
+        this.inversionsExact = inversionsExact;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return число максимальных неубывающих серий,
+     * 1 для упорядоченного массива, 0 для пустого
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return число соседних пар a[i] > a[i + 1]
+     */
+    public int getDescents() {
+        return descents;
+    }
+
+    /**
+     * @return число пар i < j, где a[i] > a[j], точное или оценка,
+     * см. isInversionsExact
+     */
+    public long getInversions() {
+        return inversions;
+    }
+
+    public boolean isInversionsExact() {
+        return inversionsExact;
+    }
+
+    /**
+     * @return доля инвертированных пар: 0 - упорядочен,
+     * 1 - строго обратный порядок
+     */
+    public double getInversionRatio() {
+        long pairs = (long) length * (length - 1) / 2;
+        return pairs == 0 ? 0 : (double) inversions / pairs;
+    }
+
+    /**
+     * @return упорядочен ли массив по возрастанию
+     */
+    public boolean isSorted() {
+        return descents == 0;
+    }
+
+    /**
+     * @return упорядочен ли массив строго по убыванию
+     */
+    public boolean isReversed() {
+        return length > 1 && descents == length - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "Disorder{length=" + length + ", runs=" + runs
+                + ", descents=" + descents + ", inversions=" + inversions
+                + (inversionsExact ? "" : " (estimate)") + '}';
+    }
+}
@@ -0,0 +1,454 @@
+package fintech;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Класс содержит статические методы
+ * для сортировки массивов чисел с плавающей точкой (double)
+ * теми же способами, что ArraySorter для int[].
+ * <p>
+ * Порядок тот же, что у Double.compare и Arrays.sort:
+ * -0.0 раньше 0.0, NaN в конце. Сравнение идёт
+ * по примитивам, без упаковки в Double.
+ */
+public final class DoubleArraySorter {
+
+    /**
+     * Куски не больше этого размера интроспективная сортировка
+     * сортирует вставками.
+     */
+    private static final int INSERTION_THRESHOLD = 24;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private DoubleArraySorter() {
+    }
+
+    /**
+     * Меняем местами значения ячеек в double[].
+     * Вспомогательный метод, изменяет массив на месте
+     *
+     * @param array массив
+     * @param i1    индекс ячейки 1 для свопа
+     * @param i2    индекс ячейки 2 для свопа
+     */
+    private static void swap(final double[] array, final int i1, final int i2) {
+        double a = array[i1];
+        array[i1] = array[i2];
+        array[i2] = a;
+    }
+
+    /**
+     * Тасование Саттоло (циклический вариант Фишера — Йетса).
+     * Возвращает перемешанную копию массива.
+     *
+     * @param array массив для перемешивания
+     * @return перемешанный массив
+     */
+    public static double[] shuffle(final double[] array) {
+        if (array.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (array.length == 1) {
+            return array;
+        }
+
+        double[] newArray = array.clone();
+        shuffleInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Тасование Саттоло на месте.
+     * Перемешивает диапазон [from, to) переданного массива,
+     * не выделяя памяти.
+     *
+     * @param array массив для перемешивания
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     */
+    public static void shuffleInPlace(final double[] array,
+                                      final int from, final int to) {
+        ArraySorter.checkRange(array.length, from, to);
+        Random random = ThreadLocalRandom.current();
+        for (int i = to - 1; i > from; i--) {
+            swap(array, from + random.nextInt(i - from), i);
+        }
+    }
+
+    /**
+     * Сортировка выбором.
+     * Проходим по массиву, суём максимальные значения в конец.
+     *
+     * @param array массив для сортировки
+     * @return сортированный массив
+     */
+    public static double[] sortSelection(final double[] array) {
+        if (array.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (array.length == 1) {
+            return array;
+        }
+
+        double[] newArray = array.clone();
+        sortSelectionInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Сортировка выбором на месте.
+     *
+     * @param array массив для сортировки
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     */
+    public static void sortSelectionInPlace(final double[] array,
+                                            final int from, final int to) {
+        ArraySorter.checkRange(array.length, from, to);
+        for (int lastIndex = to - 1; lastIndex > from; lastIndex--) {
+            int maxValueIndex = lastIndex;
+            double maxValue = array[maxValueIndex];
+            for (int i = from; i <= lastIndex; i++) {
+                if (Double.compare(array[i], maxValue) > 0) {
+                    maxValue = array[i];
+                    maxValueIndex = i;
+                }
+            }
+            if (maxValueIndex != lastIndex) {
+                swap(array, maxValueIndex, lastIndex);
+            }
+        }
+    }
+
+    /**
+     * Гномья сортировка.
+     * Если нечего менять, шагаем вперёд,
+     * если нет порядка, меняем и шагаем назад
+     *
+     * @param array массив для сортировки
+     * @return сортированный массив
+     */
+    public static double[] sortGnome(final double[] array) {
+        if (array.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (array.length == 1) {
+            return array;
+        }
+
+        double[] newArray = array.clone();
+        sortGnomeInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Гномья сортировка на месте.
+     *
+     * @param array массив для сортировки
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     */
+    public static void sortGnomeInPlace(final double[] array,
+                                        final int from, final int to) {
+        ArraySorter.checkRange(array.length, from, to);
+        int i = from;
+        while (i + 1 < to) {
+            if (Double.compare(array[i], array[i + 1]) > 0) {
+                swap(array, i, i + 1);
+                // если есть, куда шагать, шаг назад, если нет, шаг вперёд
+                if (i > from) {
+                    i--;
+                } else {
+                    i++;
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Коктейльная сортировка.
+     * Меняем пары, ходим по массиву туда-обратно
+     *
+     * @param array массив для сортировки
+     * @return сортированный массив
+     */
+    public static double[] sortCocktail(final double[] array) {
+        if (array.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (array.length == 1) {
+            return array;
+        }
+
+        double[] newArray = array.clone();
+        sortCocktailInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Коктейльная сортировка на месте.
+     *
+     * @param array массив для сортировки
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     */
+    public static void sortCocktailInPlace(final double[] array,
+                                           final int from, final int to) {
+        ArraySorter.checkRange(array.length, from, to);
+        int left = from;
+        int right = to - 1;
+        while (left < right) {
+            boolean swapped = false;
+            for (int i = left; i < right; i++) {
+                if (Double.compare(array[i], array[i + 1]) > 0) {
+                    swap(array, i, i + 1);
+                    swapped = true;
+                }
+            }
+            // если замен не было, значит, массив отсортирован
+            if (!swapped) {
+                break;
+            }
+            right--;
+
+            swapped = false;
+            for (int j = right; j > left; j--) {
+                if (Double.compare(array[j - 1], array[j]) > 0) {
+                    swap(array, j - 1, j);
+                    swapped = true;
+                }
+            }
+            if (!swapped) {
+                break;
+            }
+            left++;
+        }
+    }
+
+    /**
+     * Быстрая сортировка.
+     * Опорный элемент из середины массива, разбиение Хоара.
+     *
+     * @param array массив для сортировки
+     * @return сортированный массив
+     */
+    public static double[] sortQuick(final double[] array) {
+        if (array.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (array.length == 1) {
+            return array;
+        }
+
+        double[] newArray = array.clone();
+        sortQuickDivide(newArray, 0, newArray.length - 1);
+        return newArray;
+    }
+
+    /**
+     * Быстрая сортировка на месте.
+     *
+     * @param array массив для сортировки
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     */
+    public static void sortQuickInPlace(final double[] array,
+                                        final int from, final int to) {
+        ArraySorter.checkRange(array.length, from, to);
+        sortQuickDivide(array, from, to - 1);
+    }
+
+    /**
+     * Вспомогательный метод для быстрой сортировки.
+     * Рекурсия идёт только в меньшую часть, большая сортируется в цикле,
+     * так что глубина стека O(log n) на любых данных.
+     *
+     * @param array массив для сортировки
+     * @param start левый край (включительно)
+     * @param end   правый край (включительно)
+     */
+    private static void sortQuickDivide(final double[] array,
+                                        final int start, final int end) {
+        int lo = start;
+        int hi = end;
+        while (lo < hi) {
+            double baseValue = array[lo + (hi - lo) / 2];
+            int left = lo;
+            int right = hi;
+            while (left <= right) {
+                while (Double.compare(array[left], baseValue) < 0) {
+                    left++;
+                }
+                while (Double.compare(array[right], baseValue) > 0) {
+                    right--;
+                }
+                if (left <= right) {
+                    swap(array, left++, right--);
+                }
+            }
+            if (right - lo < hi - left) {
+                sortQuickDivide(array, lo, right);
+                lo = left;
+            } else {
+                sortQuickDivide(array, left, hi);
+                hi = right;
+            }
+        }
+    }
+
+    /**
+     * Интроспективная сортировка.
+     * Трёхстороннее разбиение с медианой трёх,
+     * пирамидальная сортировка при слишком глубокой рекурсии.
+     * Худший случай O(n log n).
+     *
+     * @param array массив для сортировки
+     * @return сортированный массив
+     */
+    public static double[] sortIntro(final double[] array) {
+        if (array.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        } else if (array.length == 1) {
+            return array;
+        }
+
+        double[] newArray = array.clone();
+        sortIntroInPlace(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Интроспективная сортировка на месте.
+     *
+     * @param array массив для сортировки
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     */
+    public static void sortIntroInPlace(final double[] array,
+                                        final int from, final int to) {
+        ArraySorter.checkRange(array.length, from, to);
+        int length = to - from;
+        if (length > 1) {
+            introSort(array, from, to, 2 * (31 - Integer.numberOfLeadingZeros(length)));
+        }
+    }
+
+    /**
+     * Рекурсивная часть интроспективной сортировки.
+     *
+     * @param array      массив для сортировки
+     * @param from       индекс начала диапазона (включительно)
+     * @param to         индекс конца диапазона (не включительно)
+     * @param depthLimit сколько ещё уровней разбиения разрешено
+     */
+    private static void introSort(final double[] array, final int from, final int to,
+                                  final int depthLimit) {
+        int lo = from;
+        int hi = to;
+        int depth = depthLimit;
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(array, lo, hi);
+                return;
+            }
+            depth--;
+
+            double pivot = median(array[lo], array[lo + (hi - lo) / 2], array[hi - 1]);
+            // [lo, lt) < опоры, [lt, i) == опоре, [gt, hi) > опоры
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                double value = array[i];
+                if (Double.compare(value, pivot) < 0) {
+                    array[i++] = array[lt];
+                    array[lt++] = value;
+                } else if (Double.compare(value, pivot) > 0) {
+                    array[i] = array[--gt];
+                    array[gt] = value;
+                } else {
+                    i++;
+                }
+            }
+            if (lt - lo < hi - gt) {
+                introSort(array, lo, lt, depth);
+                lo = gt;
+            } else {
+                introSort(array, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        insertionSort(array, lo, hi);
+    }
+
+    /**
+     * Медиана трёх значений.
+     */
+    private static double median(final double a, final double b, final double c) {
+        if (Double.compare(a, b) < 0) {
+            if (Double.compare(b, c) < 0) {
+                return b;
+            }
+            return Double.compare(a, c) < 0 ? c : a;
+        }
+        if (Double.compare(a, c) < 0) {
+            return a;
+        }
+        return Double.compare(b, c) < 0 ? c : b;
+    }
+
+    /**
+     * Сортировка вставками диапазона [from, to).
+     */
+    private static void insertionSort(final double[] array, final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            double value = array[i];
+            int j = i - 1;
+            while (j >= from && Double.compare(array[j], value) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона [from, to).
+     */
+    private static void heapSort(final double[] array, final int from, final int to) {
+        int length = to - from;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(array, from, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(array, from, from + end);
+            siftDown(array, from, 0, end);
+        }
+    }
+
+    /**
+     * Просеивание вниз в max-куче, лежащей в array начиная с base.
+     */
+    private static void siftDown(final double[] array, final int base,
+                                 final int index, final int size) {
+        int node = index;
+        double value = array[base + node];
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            double childValue = array[base + child];
+            if (child + 1 < size && Double.compare(array[base + child + 1], childValue) > 0) {
+                child++;
+                childValue = array[base + child];
+            }
+            if (Double.compare(value, childValue) >= 0) {
+                break;
+            }
+            array[base + node] = childValue;
+            node = child;
+        }
+        array[base + node] = value;
+    }
+}
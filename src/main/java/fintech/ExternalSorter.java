@@ -0,0 +1,369 @@
+package fintech;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Внешняя сортировка файлов из 4-байтовых int-записей,
+ * которые не помещаются в память.
+ * <p>
+ * Файл читается кусками через MappedByteBuffer,
+ * каждый кусок сортируется в памяти адаптивной сортировкой ArraySorter
+ * и сбрасывается во временный файл (серию).
+ * Затем серии сливаются k-путевым слиянием через кучу.
+ * Если серий больше, чем можно одновременно открыть в рамках бюджета,
+ * слияние идёт в несколько проходов.
+ * Результат пишется в файл блоками, целиком в памяти он не собирается.
+ */
+public final class ExternalSorter {
+
+    /**
+     * Размер одной записи в байтах.
+     */
+    private static final int RECORD_BYTES = Integer.BYTES;
+
+    /**
+     * Минимальный буфер чтения одной серии при слиянии.
+     */
+    private static final int MIN_BLOCK_BYTES = 4096;
+
+    /**
+     * Наибольшее число записей в одном отображении:
+     * FileChannel.map не отображает больше Integer.MAX_VALUE байт.
+     */
+    private static final int MAX_MAP_RECORDS = Integer.MAX_VALUE / RECORD_BYTES;
+
+    /**
+     * Минимальный бюджет памяти.
+     */
+    public static final long MIN_MEMORY_BUDGET = 4 * MIN_BLOCK_BYTES;
+
+    /**
+     * Бюджет памяти на сортировку в байтах.
+     */
+    private final long memoryBudget;
+
+    /**
+     * Каталог для временных файлов.
+     */
+    private final Path tempDirectory;
+
+    /**
+     * Порядок байтов записей во входном и выходном файлах.
+     */
+    private final ByteOrder byteOrder;
+
+    /**
+     * Сортировщик с временными файлами в java.io.tmpdir
+     * и порядком байтов BIG_ENDIAN (как у DataOutputStream).
+     *
+     * @param memoryBudget бюджет памяти в байтах
+     */
+    public ExternalSorter(final long memoryBudget) {
+        this(memoryBudget, Paths.get(System.getProperty("java.io.tmpdir")),
+                ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Сортировщик с заданными параметрами.
+     *
+     * @param memoryBudget  бюджет памяти в байтах, не меньше MIN_MEMORY_BUDGET
+     * @param tempDirectory каталог для временных файлов
+     * @param byteOrder     порядок байтов записей
+     */
+    public ExternalSorter(final long memoryBudget, final Path tempDirectory,
+                          final ByteOrder byteOrder) {
+        if (memoryBudget < MIN_MEMORY_BUDGET) {
+            throw (new ArraySorterException("Memory budget must be at least "
+                    + MIN_MEMORY_BUDGET + " bytes"));
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+        this.byteOrder = byteOrder;
+    }
+
+    /**
+     * Сортировка файла input по возрастанию в файл output.
+     * Выходной файл создаётся или перезаписывается.
+     *
+     * @param input  входной файл, размер кратен 4 байтам
+     * @param output выходной файл
+     * @throws IOException при ошибке ввода-вывода
+     */
+    public void sort(final Path input, final Path output) throws IOException {
+        List<Path> runs = new ArrayList<Path>();
+        // серии текущего прохода слияния, чтобы удалить их и при ошибке
+        List<Path> merged = new ArrayList<Path>();
+        try {
+            // половина бюджета - данные куска, половина - буфер сортировки
+            int chunkRecords = (int) Math.min(memoryBudget / (2 * RECORD_BYTES),
+                    Integer.MAX_VALUE - 8);
+            int[] chunk = null;
+            try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+                long size = in.size();
+                if (size % RECORD_BYTES != 0) {
+                    throw (new ArraySorterException("File size " + size
+                            + " is not a multiple of " + RECORD_BYTES));
+                }
+                long records = size / RECORD_BYTES;
+                chunk = new int[(int) Math.min(records, chunkRecords)];
+
+                // один кусок - сортируем в памяти и сразу пишем результат
+                if (records <= chunkRecords) {
+                    readChunk(in, 0, chunk, chunk.length);
+                    sortChunk(chunk, chunk.length);
+                    writeRun(output, chunk, chunk.length);
+                    return;
+                }
+
+                for (long record = 0; record < records; record += chunkRecords) {
+                    int length = (int) Math.min(chunkRecords, records - record);
+                    readChunk(in, record * RECORD_BYTES, chunk, length);
+                    sortChunk(chunk, length);
+                    Path run = Files.createTempFile(tempDirectory, "sort-run", ".bin");
+                    runs.add(run);
+                    writeRun(run, chunk, length);
+                }
+            }
+            chunk = null;
+
+            // сливаем группами, пока серий больше, чем помещается в бюджет
+            int fanIn = (int) Math.max(2, memoryBudget / (2 * MIN_BLOCK_BYTES));
+            while (runs.size() > fanIn) {
+                merged = new ArrayList<Path>();
+                for (int start = 0; start < runs.size(); start += fanIn) {
+                    List<Path> group = runs.subList(start,
+                            Math.min(start + fanIn, runs.size()));
+                    Path run = Files.createTempFile(tempDirectory, "sort-run", ".bin");
+                    merged.add(run);
+                    merge(group, run);
+                    for (Path path : group) {
+                        Files.deleteIfExists(path);
+                    }
+                }
+                runs = merged;
+            }
+            merge(runs, output);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            for (Path run : merged) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    /**
+     * Чтение куска записей через отображение файла в память.
+     * Кусок длиннее MAX_MAP_RECORDS отображается по частям.
+     *
+     * @param in       входной канал
+     * @param position позиция начала куска в байтах
+     * @param chunk    массив для записей
+     * @param length   число записей
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void readChunk(final FileChannel in, final long position,
+                           final int[] chunk, final int length) throws IOException {
+        for (int read = 0; read < length; read += MAX_MAP_RECORDS) {
+            int count = Math.min(MAX_MAP_RECORDS, length - read);
+            MappedByteBuffer mapped = in.map(FileChannel.MapMode.READ_ONLY,
+                    position + (long) read * RECORD_BYTES, (long) count * RECORD_BYTES);
+            mapped.order(byteOrder).asIntBuffer().get(chunk, read, count);
+        }
+    }
+
+    /**
+     * Сортировка куска в памяти существующими алгоритмами.
+     *
+     * @param chunk  массив записей
+     * @param length число записей
+     */
+    private static void sortChunk(final int[] chunk, final int length) {
+        if (length > 1) {
+            ArraySorter.sortInPlace(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Запись отсортированного куска в файл блоками.
+     *
+     * @param path   файл
+     * @param chunk  массив записей
+     * @param length число записей
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void writeRun(final Path path, final int[] chunk, final int length)
+            throws IOException {
+        try (FileChannel out = openForWrite(path)) {
+            ByteBuffer block = ByteBuffer.allocate(blockBytes(1)).order(byteOrder);
+            IntBuffer ints = block.asIntBuffer();
+            int written = 0;
+            while (written < length) {
+                int count = Math.min(ints.capacity(), length - written);
+                ints.clear();
+                ints.put(chunk, written, count);
+                block.clear();
+                block.limit(count * RECORD_BYTES);
+                writeFully(out, block);
+                written += count;
+            }
+        }
+    }
+
+    /**
+     * k-путевое слияние серий в файл.
+     * Куча хранит номера серий, упорядоченные по текущему значению.
+     *
+     * @param runs   файлы серий
+     * @param output выходной файл
+     * @throws IOException при ошибке ввода-вывода
+     */
+    private void merge(final List<Path> runs, final Path output) throws IOException {
+        int count = runs.size();
+        RunReader[] readers = new RunReader[count];
+        int[] heap = new int[count];
+        int heapSize = 0;
+        int blockBytes = blockBytes(count + 1);
+        try {
+            for (int i = 0; i < count; i++) {
+                readers[i] = new RunReader(runs.get(i), blockBytes, byteOrder);
+                if (readers[i].advance()) {
+                    heap[heapSize++] = i;
+                }
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(heap, heapSize, i, readers);
+            }
+
+            try (FileChannel out = openForWrite(output)) {
+                ByteBuffer block = ByteBuffer.allocate(blockBytes).order(byteOrder);
+                while (heapSize > 0) {
+                    RunReader top = readers[heap[0]];
+                    block.putInt(top.current);
+                    if (!block.hasRemaining()) {
+                        block.flip();
+                        writeFully(out, block);
+                        block.clear();
+                    }
+                    // серия закончилась - убираем её из кучи
+                    if (!top.advance()) {
+                        heap[0] = heap[--heapSize];
+                    }
+                    siftDown(heap, heapSize, 0, readers);
+                }
+                block.flip();
+                writeFully(out, block);
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Просеивание вниз в min-куче номеров серий.
+     */
+    private static void siftDown(final int[] heap, final int size, final int index,
+                                 final RunReader[] readers) {
+        int node = index;
+        int run = heap[node];
+        int value = readers[run].current;
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            if (child + 1 < size
+                    && readers[heap[child + 1]].current < readers[heap[child]].current) {
+                child++;
+            }
+            if (value <= readers[heap[child]].current) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = run;
+    }
+
+    /**
+     * Размер блока ввода-вывода, когда бюджет делится на parts частей.
+     * Кратен размеру записи.
+     */
+    private int blockBytes(final int parts) {
+        long block = Math.min(memoryBudget / (2L * parts), 1 << 20);
+        block = Math.max(block, MIN_BLOCK_BYTES);
+        return (int) (block - block % RECORD_BYTES);
+    }
+
+    private static FileChannel openForWrite(final Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void writeFully(final FileChannel out, final ByteBuffer block)
+            throws IOException {
+        while (block.hasRemaining()) {
+            out.write(block);
+        }
+    }
+
+    /**
+     * Последовательное чтение серии блоками.
+     */
+    private static final class RunReader {
+
+        private final FileChannel channel;
+        private final ByteBuffer block;
+
+        /**
+         * Текущее значение серии.
+         */
+        private int current;
+
+        RunReader(final Path path, final int blockBytes, final ByteOrder order)
+                throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            block = ByteBuffer.allocate(blockBytes).order(order);
+            block.limit(0);
+        }
+
+        /**
+         * Переход к следующему значению.
+         *
+         * @return false, если серия закончилась
+         * @throws IOException при ошибке ввода-вывода
+         */
+        boolean advance() throws IOException {
+            if (block.remaining() < RECORD_BYTES) {
+                block.compact();
+                while (block.position() < RECORD_BYTES) {
+                    if (channel.read(block) < 0) {
+                        block.flip();
+                        return false;
+                    }
+                }
+                block.flip();
+            }
+            current = block.getInt();
+            return true;
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package fintech;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Инкрементальная сортировка поступающих порциями данных.
+ * Каждая порция копируется и сортируется в потоке вызывающего,
+ * отсортированные серии сливаются в фоне по биномиальной схеме:
+ * две серии одного уровня (floor(log2(длины))) сливаются в одну,
+ * поэтому серий O(log n), а суммарная работа слияний O(n log n)
+ * распределена по времени поступления данных.
+ * К моменту drainSorted() остаётся одно k-путевое слияние.
+ * <p>
+ * Методы потокобезопасны.
+ */
+public final class IncrementalSorter {
+
+    /**
+     * Исполнитель фоновых слияний.
+     */
+    private final Executor executor;
+
+    /**
+     * Монитор состояния.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Готовые серии, не участвующие в слиянии.
+     */
+    private final List<int[]> runs = new ArrayList<>();
+
+    /**
+     * Число выполняющихся фоновых слияний.
+     */
+    private int pendingMerges;
+
+    /**
+     * Число накопленных элементов.
+     */
+    private long size;
+
+    /**
+     * Ошибка фонового слияния, отдаётся при выдаче результата.
+     */
+    private Throwable failure;
+
+    /**
+     * Инкрементальная сортировка со слияниями в общем пуле.
+     */
+    public IncrementalSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Инкрементальная сортировка со слияниями в заданном исполнителе.
+     *
+     * @param executor исполнитель фоновых слияний
+     */
+    public IncrementalSorter(final Executor executor) {
+        if (executor == null) {
+            throw (new ArraySorterException("Executor is null"));
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Добавление порции. Массив копируется и может
+     * переиспользоваться вызывающим сразу после возврата.
+     *
+     * @param chunk порция данных
+     */
+    public void add(final int[] chunk) {
+        add(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Добавление диапазона [from, to) порции.
+     *
+     * @param chunk порция данных
+     * @param from  индекс начала диапазона (включительно)
+     * @param to    индекс конца диапазона (не включительно)
+     */
+    public void add(final int[] chunk, final int from, final int to) {
+        ArraySorter.checkRange(chunk.length, from, to);
+        if (from == to) {
+            return;
+        }
+        int[] run = new int[to - from];
+        System.arraycopy(chunk, from, run, 0, run.length);
+        ArraySorter.sortInPlace(run, 0, run.length);
+        synchronized (lock) {
+            size += run.length;
+            runs.add(run);
+            scheduleMerges();
+        }
+    }
+
+    /**
+     * Число накопленных и ещё не выданных элементов.
+     *
+     * @return число элементов
+     */
+    public long size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    /**
+     * Выдача всех накопленных элементов одним отсортированным массивом.
+     * Ждёт окончания фоновых слияний, сортировка после этого пуста.
+     *
+     * @return отсортированный массив
+     */
+    public int[] drainSorted() {
+        List<int[]> drained = takeRuns();
+        if (drained.size() == 1) {
+            return drained.get(0);
+        }
+        int[] result = new int[Math.toIntExact(totalLength(drained))];
+        mergeRuns(drained, result, 0);
+        return result;
+    }
+
+    /**
+     * Выдача всех накопленных элементов в dst начиная с offset.
+     * Ждёт окончания фоновых слияний, сортировка после этого пуста.
+     *
+     * @param dst    массив результата
+     * @param offset индекс начала записи
+     * @return число записанных элементов
+     */
+    public int mergeInto(final int[] dst, final int offset) {
+        List<int[]> drained;
+        synchronized (lock) {
+            awaitMerges();
+            if (offset < 0 || offset > dst.length || dst.length - offset < size) {
+                throw (new ArraySorterException("Buffer of length " + dst.length
+                        + " is too small, " + ((long) offset + size) + " required"));
+            }
+            drained = takeRuns();
+        }
+        return mergeRuns(drained, dst, offset);
+    }
+
+    /**
+     * Выдача всех накопленных элементов итератором по возрастанию.
+     * Ждёт окончания фоновых слияний, сортировка после этого пуста.
+     * Итоговое слияние выполняется лениво, без общего массива.
+     *
+     * @return итератор по отсортированным элементам
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new RunMerger(takeRuns());
+    }
+
+    /**
+     * Запуск фоновых слияний пар серий одного уровня.
+     * Вызывается под монитором.
+     */
+    private void scheduleMerges() {
+        int count = runs.size();
+        for (int i = 0; i < count; i++) {
+            int level = level(runs.get(i));
+            for (int j = i + 1; j < count; j++) {
+                if (level(runs.get(j)) == level) {
+                    final int[] second = runs.remove(j);
+                    final int[] first = runs.remove(i);
+                    pendingMerges++;
+                    Runnable merge = () -> completeMerge(first, second);
+                    try {
+                        executor.execute(merge);
+                    } catch (RejectedExecutionException e) {
+                        // исполнитель перегружен или остановлен - сливаем сами
+                        merge.run();
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Слияние двух серий и возврат результата в набор.
+     */
+    private void completeMerge(final int[] first, final int[] second) {
+        int[] merged = null;
+        Throwable error = null;
+        try {
+            merged = merge(first, second);
+        } catch (Throwable t) {
+            error = t;
+        }
+        synchronized (lock) {
+            pendingMerges--;
+            if (error != null) {
+                // серии не теряем, чтобы состояние оставалось согласованным
+                failure = error;
+                runs.add(first);
+                runs.add(second);
+            } else {
+                runs.add(merged);
+                scheduleMerges();
+            }
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Ожидание фоновых слияний и изъятие всех серий.
+     */
+    private List<int[]> takeRuns() {
+        synchronized (lock) {
+            awaitMerges();
+            List<int[]> drained = new ArrayList<>(runs);
+            runs.clear();
+            size = 0;
+            return drained;
+        }
+    }
+
+    /**
+     * Ожидание фоновых слияний. Вызывается под монитором.
+     */
+    private void awaitMerges() {
+        boolean interrupted = false;
+        while (pendingMerges > 0) {
+            try {
+                lock.wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            Throwable error = failure;
+            failure = null;
+            throw (new ArraySorterException("Background merge failed: " + error, error));
+        }
+    }
+
+    /**
+     * Уровень серии: floor(log2(длины)).
+     */
+    private static int level(final int[] run) {
+        return 31 - Integer.numberOfLeadingZeros(run.length);
+    }
+
+    /**
+     * Суммарная длина серий.
+     */
+    private static long totalLength(final List<int[]> list) {
+        long total = 0;
+        for (int[] run : list) {
+            total += run.length;
+        }
+        return total;
+    }
+
+    /**
+     * Слияние двух отсортированных серий в новый массив.
+     */
+    private static int[] merge(final int[] first, final int[] second) {
+        int[] result = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            result[k++] = second[j] < first[i] ? second[j++] : first[i++];
+        }
+        System.arraycopy(first, i, result, k, first.length - i);
+        System.arraycopy(second, j, result, k, second.length - j);
+        return result;
+    }
+
+    /**
+     * k-путевое слияние серий в dst начиная с offset.
+     *
+     * @return число записанных элементов
+     */
+    private static int mergeRuns(final List<int[]> list, final int[] dst, final int offset) {
+        RunMerger merger = new RunMerger(list);
+        int k = offset;
+        while (merger.hasNext()) {
+            dst[k++] = merger.nextInt();
+        }
+        return k - offset;
+    }
+
+    /**
+     * Ленивое k-путевое слияние серий через min-кучу
+     * номеров серий по текущему элементу.
+     */
+    private static final class RunMerger implements PrimitiveIterator.OfInt {
+
+        /**
+         * Серии.
+         */
+        private final int[][] runs;
+
+        /**
+         * Текущие позиции в сериях.
+         */
+        private final int[] positions;
+
+        /**
+         * Куча номеров непустых серий.
+         */
+        private final int[] heap;
+
+        /**
+         * Размер кучи.
+         */
+        private int heapSize;
+
+        RunMerger(final List<int[]> list) {
+            runs = list.toArray(new int[0][]);
+            positions = new int[runs.length];
+            heap = new int[runs.length];
+            for (int i = 0; i < runs.length; i++) {
+                heap[heapSize++] = i;
+            }
+            for (int i = heapSize / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heapSize > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (heapSize == 0) {
+                throw new NoSuchElementException();
+            }
+            int run = heap[0];
+            int value = runs[run][positions[run]++];
+            if (positions[run] == runs[run].length) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(0);
+            return value;
+        }
+
+        /**
+         * Текущий элемент серии из кучи.
+         */
+        private int head(final int index) {
+            int run = heap[index];
+            return runs[run][positions[run]];
+        }
+
+        private void siftDown(final int index) {
+            if (heapSize == 0) {
+                return;
+            }
+            int node = index;
+            int run = heap[node];
+            int value = runs[run][positions[run]];
+            int half = heapSize >>> 1;
+            while (node < half) {
+                int child = 2 * node + 1;
+                if (child + 1 < heapSize && head(child + 1) < head(child)) {
+                    child++;
+                }
+                if (value <= head(child)) {
+                    break;
+                }
+                heap[node] = heap[child];
+                node = child;
+            }
+            heap[node] = run;
+        }
+    }
+}
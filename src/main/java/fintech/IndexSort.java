@@ -0,0 +1,171 @@
+package fintech;
+
+/**
+ * Сортировка индексов по ключам int[] (argsort).
+ * Индексы сравниваются по паре (ключ, индекс),
+ * поэтому равные ключи сохраняют исходный порядок - результат стабилен,
+ * хотя сама сортировка интроспективная.
+ */
+final class IndexSort {
+
+    /**
+     * Куски не больше этого размера сортируются вставками.
+     */
+    private static final int INSERTION_THRESHOLD = 24;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private IndexSort() {
+    }
+
+    /**
+     * Заполнение permutation[0, to - from) индексами from..to-1,
+     * упорядоченными по ключам.
+     *
+     * @param keys        ключи
+     * @param from        индекс начала диапазона ключей (включительно)
+     * @param to          индекс конца диапазона ключей (не включительно)
+     * @param permutation массив для результата
+     */
+    static void argsort(final int[] keys, final int from, final int to,
+                        final int[] permutation) {
+        int length = to - from;
+        for (int i = 0; i < length; i++) {
+            permutation[i] = from + i;
+        }
+        if (length > 1) {
+            sort(keys, permutation, 0, length,
+                    2 * (31 - Integer.numberOfLeadingZeros(length)));
+        }
+    }
+
+    /**
+     * Индекс a идёт раньше индекса b.
+     */
+    private static boolean less(final int[] keys, final int a, final int b) {
+        int keyA = keys[a];
+        int keyB = keys[b];
+        return keyA < keyB || (keyA == keyB && a < b);
+    }
+
+    /**
+     * Интроспективная сортировка индексов в [lo, hi).
+     */
+    private static void sort(final int[] keys, final int[] index,
+                             final int from, final int to, final int depthLimit) {
+        int lo = from;
+        int hi = to;
+        int depth = depthLimit;
+        while (hi - lo > INSERTION_THRESHOLD) {
+            if (depth == 0) {
+                heapSort(keys, index, lo, hi);
+                return;
+            }
+            depth--;
+
+            // медиана трёх ставится в начало и служит опорой
+            int mid = lo + (hi - lo) / 2;
+            sort3(keys, index, lo, mid, hi - 1);
+            swap(index, lo, mid);
+            int pivot = index[lo];
+
+            // разбиение Хоара: ключи уникальны благодаря индексу
+            int i = lo;
+            int j = hi;
+            while (true) {
+                do {
+                    i++;
+                } while (i < hi && less(keys, index[i], pivot));
+                do {
+                    j--;
+                } while (less(keys, pivot, index[j]));
+                if (i >= j) {
+                    break;
+                }
+                swap(index, i, j);
+            }
+            swap(index, lo, j);
+
+            // меньший кусок - рекурсией, больший - в цикле
+            if (j - lo < hi - j - 1) {
+                sort(keys, index, lo, j, depth);
+                lo = j + 1;
+            } else {
+                sort(keys, index, j + 1, hi, depth);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            int value = index[i];
+            int j = i - 1;
+            while (j >= lo && less(keys, value, index[j])) {
+                index[j + 1] = index[j];
+                j--;
+            }
+            index[j + 1] = value;
+        }
+    }
+
+    /**
+     * Упорядочивание трёх позиций по ключам.
+     */
+    private static void sort3(final int[] keys, final int[] index,
+                              final int a, final int b, final int c) {
+        if (less(keys, index[b], index[a])) {
+            swap(index, a, b);
+        }
+        if (less(keys, index[c], index[b])) {
+            swap(index, b, c);
+            if (less(keys, index[b], index[a])) {
+                swap(index, a, b);
+            }
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка индексов в [from, to).
+     */
+    private static void heapSort(final int[] keys, final int[] index,
+                                 final int from, final int to) {
+        int length = to - from;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(keys, index, from, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(index, from, from + end);
+            siftDown(keys, index, from, 0, end);
+        }
+    }
+
+    /**
+     * Просеивание вниз в max-куче индексов.
+     */
+    private static void siftDown(final int[] keys, final int[] index, final int base,
+                                 final int node, final int size) {
+        int current = node;
+        int value = index[base + current];
+        int half = size >>> 1;
+        while (current < half) {
+            int child = 2 * current + 1;
+            if (child + 1 < size
+                    && less(keys, index[base + child], index[base + child + 1])) {
+                child++;
+            }
+            if (!less(keys, value, index[base + child])) {
+                break;
+            }
+            index[base + current] = index[base + child];
+            current = child;
+        }
+        index[base + current] = value;
+    }
+
+    private static void swap(final int[] array, final int i, final int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+}
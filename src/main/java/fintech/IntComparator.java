@@ -0,0 +1,48 @@
+package fintech;
+
+/**
+ * Порядок на int без упаковки в Integer.
+ * Контракт - как у java.util.Comparator: отрицательное число,
+ * ноль или положительное, если a меньше, равно или больше b.
+ * <p>
+ * Для NATURAL и REVERSE ArraySorter использует
+ * специализированные ядра, а не вызовы compare.
+ */
+@FunctionalInterface
+public interface IntComparator {
+
+    /**
+     * По возрастанию.
+     */
+    IntComparator NATURAL = Integer::compare;
+
+    /**
+     * По убыванию.
+     */
+    IntComparator REVERSE = (a, b) -> Integer.compare(b, a);
+
+    /**
+     * Сравнение двух чисел.
+     *
+     * @param a первое число
+     * @param b второе число
+     * @return знак результата задаёт порядок a и b
+     */
+    int compare(int a, int b);
+
+    /**
+     * Обратный порядок.
+     *
+     * @return компаратор, меняющий порядок на противоположный
+     */
+    default IntComparator reversed() {
+        if (this == NATURAL) {
+            return REVERSE;
+        }
+        if (this == REVERSE) {
+            return NATURAL;
+        }
+        final IntComparator self = this;
+        return (a, b) -> self.compare(b, a);
+    }
+}
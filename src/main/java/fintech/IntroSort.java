@@ -0,0 +1,209 @@
+package fintech;
+
+/**
+ * Интроспективная сортировка int[].
+ * Быстрая сортировка с трёхсторонним разбиением (Дейкстра),
+ * опорный элемент - медиана трёх или "девятка" Тьюки,
+ * вставками для маленьких кусков
+ * и пирамидальной сортировкой, если глубина рекурсии
+ * превысила 2*log2(n). Худший случай O(n log n),
+ * глубина стека O(log n).
+ */
+final class IntroSort {
+
+    /**
+     * Куски не больше этого размера сортируются вставками.
+     */
+    static final int INSERTION_THRESHOLD = 24;
+
+    /**
+     * Начиная с этого размера опорный элемент выбирается "девяткой".
+     */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private IntroSort() {
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    static void sort(final int[] intArray, final int from, final int to) {
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+        sort(intArray, from, to, 2 * (31 - Integer.numberOfLeadingZeros(length)));
+    }
+
+    /**
+     * Рекурсивная часть: разбиваем, меньший кусок сортируем рекурсией,
+     * больший - в цикле.
+     *
+     * @param intArray   массив для сортировки
+     * @param from       индекс начала диапазона (включительно)
+     * @param to         индекс конца диапазона (не включительно)
+     * @param depthLimit сколько ещё уровней разбиения разрешено
+     */
+    private static void sort(final int[] intArray, final int from, final int to,
+                             final int depthLimit) {
+        int lo = from;
+        int hi = to;
+        int depth = depthLimit;
+        while (hi - lo > INSERTION_THRESHOLD) {
+            // слишком глубоко - разбиения плохие, переходим на пирамиду
+            if (depth == 0) {
+                heapSort(intArray, lo, hi);
+                return;
+            }
+            depth--;
+
+            int pivot = choosePivot(intArray, lo, hi);
+
+            /*
+             * трёхстороннее разбиение:
+             * [lo, lt) < опоры, [lt, i) == опоре, [gt, hi) > опоры
+             */
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                int value = intArray[i];
+                if (value < pivot) {
+                    intArray[i++] = intArray[lt];
+                    intArray[lt++] = value;
+                } else if (value > pivot) {
+                    intArray[i] = intArray[--gt];
+                    intArray[gt] = value;
+                } else {
+                    i++;
+                }
+            }
+
+            // равные опоре уже на месте, меньший кусок - рекурсией
+            if (lt - lo < hi - gt) {
+                sort(intArray, lo, lt, depth);
+                lo = gt;
+            } else {
+                sort(intArray, gt, hi, depth);
+                hi = lt;
+            }
+        }
+        insertionSort(intArray, lo, hi);
+    }
+
+    /**
+     * Выбор опорного значения: медиана трёх для средних кусков,
+     * медиана трёх медиан ("девятка") для больших.
+     *
+     * @param intArray массив
+     * @param lo       индекс начала диапазона (включительно)
+     * @param hi       индекс конца диапазона (не включительно)
+     * @return опорное значение
+     */
+    static int choosePivot(final int[] intArray, final int lo, final int hi) {
+        int length = hi - lo;
+        int mid = lo + length / 2;
+        int last = hi - 1;
+        if (length < NINTHER_THRESHOLD) {
+            return median(intArray[lo], intArray[mid], intArray[last]);
+        }
+        int step = length / 8;
+        return median(
+                median(intArray[lo], intArray[lo + step], intArray[lo + 2 * step]),
+                median(intArray[mid - step], intArray[mid], intArray[mid + step]),
+                median(intArray[last - 2 * step], intArray[last - step], intArray[last]));
+    }
+
+    /**
+     * Медиана трёх чисел.
+     */
+    private static int median(final int a, final int b, final int c) {
+        if (a < b) {
+            if (b < c) {
+                return b;
+            }
+            return a < c ? c : a;
+        }
+        if (a < c) {
+            return a;
+        }
+        return b < c ? c : b;
+    }
+
+    /**
+     * Сортировка вставками диапазона [from, to).
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    static void insertionSort(final int[] intArray, final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = intArray[i];
+            int j = i - 1;
+            while (j >= from && intArray[j] > value) {
+                intArray[j + 1] = intArray[j];
+                j--;
+            }
+            intArray[j + 1] = value;
+        }
+    }
+
+    /**
+     * Пирамидальная сортировка диапазона [from, to).
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    static void heapSort(final int[] intArray, final int from, final int to) {
+        int length = to - from;
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(intArray, from, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            int max = intArray[from];
+            intArray[from] = intArray[from + end];
+            intArray[from + end] = max;
+            siftDown(intArray, from, 0, end);
+        }
+    }
+
+    /**
+     * Просеивание вниз в max-куче, лежащей в intArray начиная с base.
+     *
+     * @param intArray массив
+     * @param base     смещение кучи в массиве
+     * @param index    индекс просеиваемого узла внутри кучи
+     * @param size     размер кучи
+     */
+    private static void siftDown(final int[] intArray, final int base,
+                                 final int index, final int size) {
+        int node = index;
+        int value = intArray[base + node];
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            int childValue = intArray[base + child];
+            if (child + 1 < size && intArray[base + child + 1] > childValue) {
+                child++;
+                childValue = intArray[base + child];
+            }
+            if (value >= childValue) {
+                break;
+            }
+            intArray[base + node] = childValue;
+            node = child;
+        }
+        intArray[base + node] = value;
+    }
+}
@@ -0,0 +1,241 @@
+package fintech;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Параллельная сортировка слиянием на ForkJoinPool.
+ * Массив делится пополам до порога,
+ * куски сортируются последовательным алгоритмом,
+ * затем сливаются параллельно.
+ * <p>
+ * Вспомогательный массив выделяется один раз на вызов,
+ * и уровни рекурсии по очереди пишут то в исходный массив,
+ * то во вспомогательный, поэтому обратного копирования нет.
+ */
+final class ParallelSort {
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private ParallelSort() {
+    }
+
+    /**
+     * Параллельная сортировка диапазона [from, to) на месте.
+     * Диапазон и порог должны быть уже проверены.
+     *
+     * @param intArray  массив для сортировки
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param pool      пул потоков
+     * @param threshold размер куска, ниже которого сортируем последовательно
+     */
+    static void sort(final int[] intArray, final int from, final int to,
+                     final ForkJoinPool pool, final int threshold) {
+        int length = to - from;
+        if (length <= threshold || pool.getParallelism() < 2) {
+            sequentialSort(intArray, from, to);
+            return;
+        }
+        // вспомогательный массив сдвинут так, что индекс i в нём - это i - from
+        int[] work = new int[length];
+        pool.invoke(new SortTask(intArray, work, -from,
+                from, to, false, threshold));
+    }
+
+    /**
+     * Последовательная сортировка куска.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    private static void sequentialSort(final int[] intArray,
+                                       final int from, final int to) {
+        IntroSort.sort(intArray, from, to);
+    }
+
+    /**
+     * Задача сортировки куска [lo, hi).
+     * Результат пишется в исходный массив или во вспомогательный.
+     */
+    private static final class SortTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int[] work;
+        private final int workOffset;
+        private final int lo;
+        private final int hi;
+        private final boolean toWork;
+        private final int threshold;
+
+        SortTask(final int[] array, final int[] work, final int workOffset,
+                 final int lo, final int hi, final boolean toWork,
+                 final int threshold) {
+            this.array = array;
+            this.work = work;
+            this.workOffset = workOffset;
+            this.lo = lo;
+            this.hi = hi;
+            this.toWork = toWork;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int length = hi - lo;
+            if (length <= threshold) {
+                sequentialSort(array, lo, hi);
+                if (toWork) {
+                    System.arraycopy(array, lo, work, lo + workOffset, length);
+                }
+                return;
+            }
+
+            // половинки сортируем в противоположный массив
+            int mid = lo + length / 2;
+            invokeAll(new SortTask(array, work, workOffset, lo, mid, !toWork, threshold),
+                    new SortTask(array, work, workOffset, mid, hi, !toWork, threshold));
+
+            // и сливаем их в целевой
+            if (toWork) {
+                new MergeTask(array, 0, work, workOffset,
+                        lo, mid, mid, hi, lo, threshold).compute();
+            } else {
+                new MergeTask(work, workOffset, array, 0,
+                        lo, mid, mid, hi, lo, threshold).compute();
+            }
+        }
+    }
+
+    /**
+     * Задача слияния двух отсортированных кусков
+     * [lo1, hi1) и [lo2, hi2) из src в dst начиная с позиции dstIndex.
+     * Индексы логические, к ним прибавляются смещения массивов.
+     */
+    private static final class MergeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] src;
+        private final int srcOffset;
+        private final int[] dst;
+        private final int dstOffset;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int dstIndex;
+        private final int threshold;
+
+        MergeTask(final int[] src, final int srcOffset,
+                  final int[] dst, final int dstOffset,
+                  final int lo1, final int hi1, final int lo2, final int hi2,
+                  final int dstIndex, final int threshold) {
+            this.src = src;
+            this.srcOffset = srcOffset;
+            this.dst = dst;
+            this.dstOffset = dstOffset;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.dstIndex = dstIndex;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = hi1 - lo1;
+            int length2 = hi2 - lo2;
+            // на маленьких кусках делить дальше невыгодно
+            if (length1 + length2 <= Math.max(threshold, 2)) {
+                mergeSequential();
+                return;
+            }
+
+            /*
+             * берём середину большего куска,
+             * бинарным поиском находим место разреза в меньшем,
+             * левые и правые части сливаем независимо
+             */
+            int mid1;
+            int mid2;
+            if (length1 >= length2) {
+                mid1 = lo1 + length1 / 2;
+                mid2 = lowerBound(lo2, hi2, src[mid1 + srcOffset]);
+            } else {
+                mid2 = lo2 + length2 / 2;
+                mid1 = upperBound(lo1, hi1, src[mid2 + srcOffset]);
+            }
+            int dstMid = dstIndex + (mid1 - lo1) + (mid2 - lo2);
+            invokeAll(new MergeTask(src, srcOffset, dst, dstOffset,
+                            lo1, mid1, lo2, mid2, dstIndex, threshold),
+                    new MergeTask(src, srcOffset, dst, dstOffset,
+                            mid1, hi1, mid2, hi2, dstMid, threshold));
+        }
+
+        /**
+         * Обычное последовательное слияние.
+         */
+        private void mergeSequential() {
+            int i = lo1 + srcOffset;
+            int iEnd = hi1 + srcOffset;
+            int j = lo2 + srcOffset;
+            int jEnd = hi2 + srcOffset;
+            int k = dstIndex + dstOffset;
+            while (i < iEnd && j < jEnd) {
+                // при равенстве берём из левого куска - слияние стабильно
+                if (src[j] < src[i]) {
+                    dst[k++] = src[j++];
+                } else {
+                    dst[k++] = src[i++];
+                }
+            }
+            if (i < iEnd) {
+                System.arraycopy(src, i, dst, k, iEnd - i);
+            } else if (j < jEnd) {
+                System.arraycopy(src, j, dst, k, jEnd - j);
+            }
+        }
+
+        /**
+         * Первый индекс в [lo, hi), где значение >= key.
+         */
+        private int lowerBound(final int lo, final int hi, final int key) {
+            int left = lo;
+            int right = hi;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (src[mid + srcOffset] < key) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
+                }
+            }
+            return left;
+        }
+
+        /**
+         * Первый индекс в [lo, hi), где значение > key.
+         */
+        private int upperBound(final int lo, final int hi, final int key) {
+            int left = lo;
+            int right = hi;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (src[mid + srcOffset] <= key) {
+                    left = mid + 1;
+                } else {
+                    right = mid;
+                }
+            }
+            return left;
+        }
+    }
+}
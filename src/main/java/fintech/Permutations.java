@@ -0,0 +1,458 @@
+package fintech;
+
+/**
+ * Применение перестановки индексов (например, результата
+ * ArraySorter.argsort) к столбцам данных на месте.
+ * <p>
+ * Перестановка обходится по циклам, поэтому каждый столбец
+ * переставляется за O(n) без вспомогательных массивов и объектов:
+ * у каждого типа столбца свой цикл обхода.
+ * Пройденные элементы временно помечаются в самой перестановке
+ * инверсией битов и восстанавливаются в конце,
+ * так что одну перестановку нельзя одновременно применять из разных потоков.
+ * <p>
+ * Перегрузки с диапазоном [from, to) принимают результат
+ * ArraySorter.argsort(keys, from, to, permutation): в permutation[0, to - from)
+ * лежат индексы from..to-1, остаток массива не читается.
+ */
+public final class Permutations {
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private Permutations() {
+    }
+
+    /**
+     * Перестановка нескольких столбцов int[] одной перестановкой.
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param columns     столбцы длиной не меньше n
+     */
+    public static void applyAll(final int[] permutation, final int[]... columns) {
+        applyAll(permutation, 0, permutation.length, columns);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) нескольких столбцов int[]
+     * одной перестановкой.
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param columns     столбцы длиной не меньше to
+     */
+    public static void applyAll(final int[] permutation, final int from, final int to,
+                                final int[]... columns) {
+        for (int[] column : columns) {
+            apply(permutation, from, to, column);
+        }
+    }
+
+    /**
+     * Перестановка столбца int[] на месте:
+     * column[i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param column      столбец длиной не меньше n
+     */
+    public static void apply(final int[] permutation, final int[] column) {
+        apply(permutation, 0, permutation.length, column);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) столбца int[] на месте:
+     * column[from + i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param column      столбец длиной не меньше to
+     */
+    public static void apply(final int[] permutation, final int from, final int to,
+                             final int[] column) {
+        checkColumn(permutation, from, to, column.length);
+        int length = to - from;
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            int first = column[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                if (next < 0) {
+                    // элемент уже пройден в другом цикле - индекс повторяется
+                    throw invalid(permutation, from, to);
+                }
+                permutation[current] = ~next;
+                next -= from;
+                if (next == start) {
+                    column[from + current] = first;
+                    break;
+                }
+                column[from + current] = column[from + next];
+                current = next;
+            }
+        }
+        restore(permutation, length);
+    }
+
+    /**
+     * Перестановка столбца long[] на месте:
+     * column[i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param column      столбец длиной не меньше n
+     */
+    public static void apply(final int[] permutation, final long[] column) {
+        apply(permutation, 0, permutation.length, column);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) столбца long[] на месте:
+     * column[from + i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param column      столбец длиной не меньше to
+     */
+    public static void apply(final int[] permutation, final int from, final int to,
+                             final long[] column) {
+        checkColumn(permutation, from, to, column.length);
+        int length = to - from;
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            long first = column[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                if (next < 0) {
+                    // элемент уже пройден в другом цикле - индекс повторяется
+                    throw invalid(permutation, from, to);
+                }
+                permutation[current] = ~next;
+                next -= from;
+                if (next == start) {
+                    column[from + current] = first;
+                    break;
+                }
+                column[from + current] = column[from + next];
+                current = next;
+            }
+        }
+        restore(permutation, length);
+    }
+
+    /**
+     * Перестановка столбца double[] на месте:
+     * column[i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param column      столбец длиной не меньше n
+     */
+    public static void apply(final int[] permutation, final double[] column) {
+        apply(permutation, 0, permutation.length, column);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) столбца double[] на месте:
+     * column[from + i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param column      столбец длиной не меньше to
+     */
+    public static void apply(final int[] permutation, final int from, final int to,
+                             final double[] column) {
+        checkColumn(permutation, from, to, column.length);
+        int length = to - from;
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            double first = column[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                if (next < 0) {
+                    // элемент уже пройден в другом цикле - индекс повторяется
+                    throw invalid(permutation, from, to);
+                }
+                permutation[current] = ~next;
+                next -= from;
+                if (next == start) {
+                    column[from + current] = first;
+                    break;
+                }
+                column[from + current] = column[from + next];
+                current = next;
+            }
+        }
+        restore(permutation, length);
+    }
+
+    /**
+     * Перестановка столбца short[] на месте:
+     * column[i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param column      столбец длиной не меньше n
+     */
+    public static void apply(final int[] permutation, final short[] column) {
+        apply(permutation, 0, permutation.length, column);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) столбца short[] на месте:
+     * column[from + i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param column      столбец длиной не меньше to
+     */
+    public static void apply(final int[] permutation, final int from, final int to,
+                             final short[] column) {
+        checkColumn(permutation, from, to, column.length);
+        int length = to - from;
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            short first = column[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                if (next < 0) {
+                    // элемент уже пройден в другом цикле - индекс повторяется
+                    throw invalid(permutation, from, to);
+                }
+                permutation[current] = ~next;
+                next -= from;
+                if (next == start) {
+                    column[from + current] = first;
+                    break;
+                }
+                column[from + current] = column[from + next];
+                current = next;
+            }
+        }
+        restore(permutation, length);
+    }
+
+    /**
+     * Перестановка столбца char[] на месте:
+     * column[i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param column      столбец длиной не меньше n
+     */
+    public static void apply(final int[] permutation, final char[] column) {
+        apply(permutation, 0, permutation.length, column);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) столбца char[] на месте:
+     * column[from + i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param column      столбец длиной не меньше to
+     */
+    public static void apply(final int[] permutation, final int from, final int to,
+                             final char[] column) {
+        checkColumn(permutation, from, to, column.length);
+        int length = to - from;
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            char first = column[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                if (next < 0) {
+                    // элемент уже пройден в другом цикле - индекс повторяется
+                    throw invalid(permutation, from, to);
+                }
+                permutation[current] = ~next;
+                next -= from;
+                if (next == start) {
+                    column[from + current] = first;
+                    break;
+                }
+                column[from + current] = column[from + next];
+                current = next;
+            }
+        }
+        restore(permutation, length);
+    }
+
+    /**
+     * Перестановка столбца byte[] на месте:
+     * column[i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param column      столбец длиной не меньше n
+     */
+    public static void apply(final int[] permutation, final byte[] column) {
+        apply(permutation, 0, permutation.length, column);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) столбца byte[] на месте:
+     * column[from + i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param column      столбец длиной не меньше to
+     */
+    public static void apply(final int[] permutation, final int from, final int to,
+                             final byte[] column) {
+        checkColumn(permutation, from, to, column.length);
+        int length = to - from;
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            byte first = column[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                if (next < 0) {
+                    // элемент уже пройден в другом цикле - индекс повторяется
+                    throw invalid(permutation, from, to);
+                }
+                permutation[current] = ~next;
+                next -= from;
+                if (next == start) {
+                    column[from + current] = first;
+                    break;
+                }
+                column[from + current] = column[from + next];
+                current = next;
+            }
+        }
+        restore(permutation, length);
+    }
+
+    /**
+     * Перестановка столбца T[] на месте:
+     * column[i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов 0..n-1
+     * @param column      столбец длиной не меньше n
+     * @param <T>         тип элементов
+     */
+    public static <T> void apply(final int[] permutation, final T[] column) {
+        apply(permutation, 0, permutation.length, column);
+    }
+
+    /**
+     * Перестановка диапазона [from, to) столбца T[] на месте:
+     * column[from + i] становится прежним column[permutation[i]].
+     *
+     * @param permutation перестановка индексов from..to-1 в [0, to - from)
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param column      столбец длиной не меньше to
+     * @param <T>         тип элементов
+     */
+    public static <T> void apply(final int[] permutation, final int from, final int to,
+                             final T[] column) {
+        checkColumn(permutation, from, to, column.length);
+        int length = to - from;
+        for (int start = 0; start < length; start++) {
+            if (permutation[start] < 0) {
+                continue;
+            }
+            T first = column[from + start];
+            int current = start;
+            while (true) {
+                int next = permutation[current];
+                if (next < 0) {
+                    // элемент уже пройден в другом цикле - индекс повторяется
+                    throw invalid(permutation, from, to);
+                }
+                permutation[current] = ~next;
+                next -= from;
+                if (next == start) {
+                    column[from + current] = first;
+                    break;
+                }
+                column[from + current] = column[from + next];
+                current = next;
+            }
+        }
+        restore(permutation, length);
+    }
+
+    /**
+     * Проверка диапазона, длины столбца и значений индексов перестановки.
+     * Повторы индексов обнаруживаются позже, при обходе циклов.
+     *
+     * @param permutation перестановка
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param length      длина столбца
+     */
+    private static void checkColumn(final int[] permutation, final int from, final int to,
+                                    final int length) {
+        if (from < 0 || from > to) {
+            throw (new ArraySorterException("Invalid range [" + from + ", " + to + ")"));
+        }
+        if (permutation.length < to - from) {
+            throw (new ArraySorterException("Permutation of length " + permutation.length
+                    + " is shorter than range of length " + (to - from)));
+        }
+        if (length < to) {
+            throw (new ArraySorterException("Column of length " + length
+                    + " is shorter than " + to));
+        }
+        for (int i = 0; i < to - from; i++) {
+            if (permutation[i] < from || permutation[i] >= to) {
+                throw (new ArraySorterException("Array is not a permutation of "
+                        + from + ".." + (to - 1)));
+            }
+        }
+    }
+
+    /**
+     * Снятие пометок с перестановки.
+     *
+     * @param permutation перестановка
+     * @param length      длина перестановки
+     */
+    private static void restore(final int[] permutation, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (permutation[i] < 0) {
+                permutation[i] = ~permutation[i];
+            }
+        }
+    }
+
+    /**
+     * Ошибка для массива, который не является перестановкой.
+     * Пометки снимаются, столбец остаётся частично переставленным.
+     *
+     * @param permutation перестановка
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @return исключение
+     */
+    private static ArraySorterException invalid(final int[] permutation, final int from,
+                                                final int to) {
+        restore(permutation, to - from);
+        return new ArraySorterException("Array is not a permutation of "
+                + from + ".." + (to - 1));
+    }
+}
@@ -0,0 +1,224 @@
+package fintech;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Проверки упорядоченности перед сортировкой.
+ * Один линейный проход, который на случайных данных
+ * обрывается на первых элементах, а на уже упорядоченных
+ * избавляет от всей работы ядра.
+ */
+final class Presortedness {
+
+    /**
+     * Порядок по возрастанию для проверок с маской.
+     */
+    static final int ASCENDING = 0;
+
+    /**
+     * Порядок по убыванию: ~value меняет порядок на обратный.
+     */
+    static final int DESCENDING = -1;
+
+    /**
+     * До этой длины инверсии считаются точно.
+     */
+    static final int EXACT_INVERSIONS_MAX = 1024;
+
+    /**
+     * Число случайных пар для оценки инверсий в длинном диапазоне.
+     */
+    static final int INVERSION_SAMPLES = 1 << 14;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private Presortedness() {
+    }
+
+    /**
+     * Упорядоченность диапазона [from, to). Массив не меняется.
+     * Значения сравниваются как value ^ mask.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param mask     ASCENDING или DESCENDING
+     * @return 1 - диапазон упорядочен, -1 - упорядочен строго в обратном
+     * порядке, 0 - ни то, ни другое
+     */
+    static int monotone(final int[] intArray, final int from, final int to,
+                        final int mask) {
+        if (to - from < 2) {
+            return 1;
+        }
+        int i = from + 1;
+        if ((intArray[from] ^ mask) <= (intArray[i] ^ mask)) {
+            while (++i < to && (intArray[i - 1] ^ mask) <= (intArray[i] ^ mask)) {
+                // серия продолжается
+            }
+            return i == to ? 1 : 0;
+        }
+        while (++i < to && (intArray[i - 1] ^ mask) > (intArray[i] ^ mask)) {
+            // серия продолжается
+        }
+        return i == to ? -1 : 0;
+    }
+
+    /**
+     * Ранний выход для сортировок: упорядоченный диапазон
+     * остаётся как есть, строго обратный разворачивается на месте.
+     * Строгость нужна, чтобы разворот не переставлял равные.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param mask     ASCENDING или DESCENDING
+     * @return true, если диапазон теперь упорядочен и сортировать не нужно
+     */
+    static boolean presorted(final int[] intArray, final int from, final int to,
+                             final int mask) {
+        int order = monotone(intArray, from, to, mask);
+        if (order < 0) {
+            reverse(intArray, from, to);
+        }
+        return order != 0;
+    }
+
+    /**
+     * Ранний выход для сортировки с компаратором.
+     *
+     * @param intArray   массив
+     * @param from       индекс начала диапазона (включительно)
+     * @param to         индекс конца диапазона (не включительно)
+     * @param comparator порядок
+     * @return true, если диапазон теперь упорядочен и сортировать не нужно
+     */
+    static boolean presorted(final int[] intArray, final int from, final int to,
+                             final IntComparator comparator) {
+        if (to - from < 2) {
+            return true;
+        }
+        int i = from + 1;
+        if (comparator.compare(intArray[from], intArray[i]) <= 0) {
+            while (++i < to && comparator.compare(intArray[i - 1], intArray[i]) <= 0) {
+                // серия продолжается
+            }
+            return i == to;
+        }
+        while (++i < to && comparator.compare(intArray[i - 1], intArray[i]) > 0) {
+            // серия продолжается
+        }
+        if (i < to) {
+            return false;
+        }
+        reverse(intArray, from, to);
+        return true;
+    }
+
+    /**
+     * Меры беспорядка диапазона [from, to). Массив не меняется.
+     * Серии и спуски считаются точно, инверсии - точно
+     * до EXACT_INVERSIONS_MAX элементов, дальше оцениваются
+     * по INVERSION_SAMPLES случайным парам.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return меры беспорядка
+     */
+    static Disorder measure(final int[] intArray, final int from, final int to) {
+        int length = to - from;
+        int descents = 0;
+        for (int i = from + 1; i < to; i++) {
+            if (intArray[i - 1] > intArray[i]) {
+                descents++;
+            }
+        }
+        long pairs = (long) length * (length - 1) / 2;
+        long inversions;
+        boolean exact;
+        if (descents == 0 || descents == length - 1) {
+            // упорядочен или строго обратный: инверсий нет или все пары
+            inversions = descents == 0 ? 0 : pairs;
+            exact = true;
+        } else if (length <= EXACT_INVERSIONS_MAX) {
+            inversions = countInversions(intArray, from, to);
+            exact = true;
+        } else {
+            inversions = estimateInversions(intArray, from, to, pairs);
+            exact = false;
+        }
+        return new Disorder(length, length == 0 ? 0 : descents + 1,
+                descents, inversions, exact);
+    }
+
+    /**
+     * Точный подсчёт инверсий перебором пар, O(n^2).
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return число пар i < j, где a[i] > a[j]
+     */
+    private static long countInversions(final int[] intArray,
+                                        final int from, final int to) {
+        long inversions = 0;
+        for (int i = from; i < to - 1; i++) {
+            int value = intArray[i];
+            for (int j = i + 1; j < to; j++) {
+                if (value > intArray[j]) {
+                    inversions++;
+                }
+            }
+        }
+        return inversions;
+    }
+
+    /**
+     * Несмещённая оценка числа инверсий:
+     * доля инвертированных среди случайных пар,
+     * умноженная на общее число пар.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param pairs    общее число пар
+     * @return оценка числа инверсий
+     */
+    private static long estimateInversions(final int[] intArray,
+                                           final int from, final int to,
+                                           final long pairs) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int inverted = 0;
+        for (int s = 0; s < INVERSION_SAMPLES; s++) {
+            int i = random.nextInt(from, to);
+            int j = random.nextInt(from, to - 1);
+            // j равномерно среди индексов, отличных от i
+            if (j >= i) {
+                j++;
+            }
+            if (i < j ? intArray[i] > intArray[j] : intArray[j] > intArray[i]) {
+                inverted++;
+            }
+        }
+        return Math.round((double) inverted / INVERSION_SAMPLES * pairs);
+    }
+
+    /**
+     * Разворот диапазона [from, to) на месте.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    static void reverse(final int[] intArray, final int from, final int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int value = intArray[i];
+            intArray[i] = intArray[j];
+            intArray[j] = value;
+        }
+    }
+}
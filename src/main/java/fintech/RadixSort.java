@@ -0,0 +1,269 @@
+package fintech;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Поразрядная сортировка (LSD) int[] по байтам.
+ * Четыре прохода по 8 бит, знаковый бит инвертируется,
+ * чтобы отрицательные числа шли раньше положительных.
+ * Проход пропускается, если у всех ключей этот байт одинаковый.
+ * Стабильна, O(n) времени, O(n) вспомогательной памяти.
+ */
+final class RadixSort {
+
+    /**
+     * Бит на один проход.
+     */
+    private static final int BITS = 8;
+
+    /**
+     * Корзин на один проход.
+     */
+    private static final int BUCKETS = 1 << BITS;
+
+    /**
+     * Число проходов для 32-битного ключа.
+     */
+    private static final int PASSES = Integer.SIZE / BITS;
+
+    /**
+     * Длина массива гистограмм: по корзине на каждый байт ключа.
+     */
+    static final int HISTOGRAM_LENGTH = PASSES * BUCKETS;
+
+    /**
+     * Маска, превращающая знаковое сравнение в беззнаковое.
+     */
+    static final int SIGN_FLIP = Integer.MIN_VALUE;
+
+    /**
+     * Маска для сортировки по убыванию: инвертирует все биты, кроме знакового,
+     * то есть value ^ 0x7FFFFFFF == ~(value ^ SIGN_FLIP).
+     */
+    static final int DESCENDING_FLIP = Integer.MAX_VALUE;
+
+    /**
+     * Минимальный кусок на один поток в параллельном варианте.
+     */
+    private static final int MIN_PARALLEL_CHUNK = 1 << 15;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private RadixSort() {
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте по ключу value ^ flip:
+     * SIGN_FLIP - по возрастанию, DESCENDING_FLIP - по убыванию
+     * без отдельного прохода разворота.
+     * Гистограммы считаются в массиве вызывающего, память не выделяется.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param buffer   вспомогательный массив длиной не меньше to - from
+     * @param flip     маска ключа
+     * @param counts   массив для гистограмм длиной не меньше HISTOGRAM_LENGTH,
+     *                 содержимое затирается
+     */
+    static void sort(final int[] intArray, final int from, final int to,
+                     final int[] buffer, final int flip, final int[] counts) {
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+
+        // гистограммы всех четырёх байтов за один проход
+        Arrays.fill(counts, 0, HISTOGRAM_LENGTH, 0);
+        for (int i = from; i < to; i++) {
+            int key = intArray[i] ^ flip;
+            counts[key & 0xFF]++;
+            counts[BUCKETS + ((key >>> 8) & 0xFF)]++;
+            counts[2 * BUCKETS + ((key >>> 16) & 0xFF)]++;
+            counts[3 * BUCKETS + (key >>> 24)]++;
+        }
+
+        int[] src = intArray;
+        int srcOffset = from;
+        int[] dst = buffer;
+        int dstOffset = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            int base = pass * BUCKETS;
+            if (isTrivialPass(counts, base, length)) {
+                continue;
+            }
+            // префиксные суммы - позиции начала корзин
+            int sum = dstOffset;
+            for (int b = 0; b < BUCKETS; b++) {
+                int count = counts[base + b];
+                counts[base + b] = sum;
+                sum += count;
+            }
+            int shift = pass * BITS;
+            for (int i = srcOffset, end = srcOffset + length; i < end; i++) {
+                int value = src[i];
+                int bucket = ((value ^ flip) >>> shift) & 0xFF;
+                dst[counts[base + bucket]++] = value;
+            }
+            int[] tmpArray = src;
+            src = dst;
+            dst = tmpArray;
+            int tmpOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = tmpOffset;
+        }
+
+        // после нечётного числа проходов результат во вспомогательном массиве
+        if (src != intArray) {
+            System.arraycopy(src, srcOffset, intArray, from, length);
+        }
+    }
+
+    /**
+     * Параллельная сортировка диапазона [from, to) на месте.
+     * Диапазон делится на куски по числу потоков пула,
+     * гистограммы и раскладка по корзинам считаются для кусков параллельно.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param buffer   вспомогательный массив длиной не меньше to - from
+     * @param pool     пул потоков
+     */
+    static void sortParallel(final int[] intArray, final int from, final int to,
+                             final int[] buffer, final ForkJoinPool pool) {
+        int length = to - from;
+        int chunks = Math.min(pool.getParallelism(), length / MIN_PARALLEL_CHUNK);
+        if (chunks < 2) {
+            sort(intArray, from, to, buffer, SIGN_FLIP,
+                    SortWorkspace.current().histogram());
+            return;
+        }
+
+        // границы кусков относительно начала диапазона
+        int[] bounds = new int[chunks + 1];
+        for (int c = 0; c <= chunks; c++) {
+            bounds[c] = (int) ((long) length * c / chunks);
+        }
+        int[][] counts = new int[chunks][BUCKETS];
+        int[] totals = new int[BUCKETS];
+
+        int[] src = intArray;
+        int srcOffset = from;
+        int[] dst = buffer;
+        int dstOffset = 0;
+        for (int pass = 0; pass < PASSES; pass++) {
+            final int shift = pass * BITS;
+            final int[] passSrc = src;
+            final int passSrcOffset = srcOffset;
+            final int[] passDst = dst;
+
+            // гистограммы кусков
+            List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(chunks);
+            for (int c = 0; c < chunks; c++) {
+                final int[] chunkCounts = counts[c];
+                final int start = passSrcOffset + bounds[c];
+                final int end = passSrcOffset + bounds[c + 1];
+                tasks.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        Arrays.fill(chunkCounts, 0);
+                        for (int i = start; i < end; i++) {
+                            chunkCounts[((passSrc[i] ^ SIGN_FLIP) >>> shift) & 0xFF]++;
+                        }
+                    }
+                }));
+            }
+            joinAll(tasks);
+
+            Arrays.fill(totals, 0);
+            for (int c = 0; c < chunks; c++) {
+                for (int b = 0; b < BUCKETS; b++) {
+                    totals[b] += counts[c][b];
+                }
+            }
+            if (isTrivialPass(totals, 0, length)) {
+                continue;
+            }
+
+            /*
+             * позиция куска c в корзине b:
+             * все меньшие корзины + та же корзина у предыдущих кусков
+             */
+            int sum = dstOffset;
+            for (int b = 0; b < BUCKETS; b++) {
+                for (int c = 0; c < chunks; c++) {
+                    int count = counts[c][b];
+                    counts[c][b] = sum;
+                    sum += count;
+                }
+            }
+
+            // раскладка по корзинам
+            tasks.clear();
+            for (int c = 0; c < chunks; c++) {
+                final int[] offsets = counts[c];
+                final int start = passSrcOffset + bounds[c];
+                final int end = passSrcOffset + bounds[c + 1];
+                tasks.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = start; i < end; i++) {
+                            int value = passSrc[i];
+                            passDst[offsets[((value ^ SIGN_FLIP) >>> shift) & 0xFF]++] = value;
+                        }
+                    }
+                }));
+            }
+            joinAll(tasks);
+
+            int[] tmpArray = src;
+            src = dst;
+            dst = tmpArray;
+            int tmpOffset = srcOffset;
+            srcOffset = dstOffset;
+            dstOffset = tmpOffset;
+        }
+
+        if (src != intArray) {
+            System.arraycopy(src, srcOffset, intArray, from, length);
+        }
+    }
+
+    /**
+     * Все ключи попали в одну корзину - проход ничего не изменит.
+     *
+     * @param counts гистограммы
+     * @param base   начало гистограммы прохода
+     * @param length число ключей
+     * @return true, если проход можно пропустить
+     */
+    private static boolean isTrivialPass(final int[] counts, final int base,
+                                         final int length) {
+        for (int b = 0; b < BUCKETS; b++) {
+            int count = counts[base + b];
+            if (count != 0) {
+                return count == length;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Дождаться всех задач.
+     *
+     * @param tasks задачи
+     */
+    private static void joinAll(final List<ForkJoinTask<?>> tasks) {
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+}
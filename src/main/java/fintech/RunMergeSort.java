@@ -0,0 +1,623 @@
+package fintech;
+
+/**
+ * Стабильная адаптивная сортировка слиянием int[] в духе TimSort.
+ * <p>
+ * Массив разбивается на естественные серии: неубывающие берутся как есть,
+ * строго убывающие разворачиваются. Короткие серии добиваются
+ * до minRun бинарными вставками. Серии складываются в стек
+ * и сливаются так, чтобы их длины росли не медленнее чисел Фибоначчи.
+ * При слиянии, если одна серия много раз подряд "выигрывает",
+ * включается галоп: целые блоки переносятся после
+ * экспоненциального поиска.
+ * <p>
+ * На почти отсортированных данных работает за время, близкое к O(n).
+ * Вспомогательный массив нужен длиной в половину диапазона.
+ */
+final class RunMergeSort {
+
+    /**
+     * Диапазоны короче этого сортируются бинарными вставками целиком.
+     */
+    static final int MIN_MERGE = 32;
+
+    /**
+     * Начальный порог включения галопа.
+     */
+    private static final int MIN_GALLOP = 7;
+
+    /**
+     * Глубина стека серий, достаточная для любого int-диапазона.
+     */
+    private static final int MAX_STACK = 49;
+
+    /**
+     * Сортируемый массив.
+     */
+    private int[] array;
+
+    /**
+     * Вспомогательный массив для слияния.
+     */
+    private int[] buffer;
+
+    /**
+     * Текущий порог галопа, подстраивается под данные.
+     */
+    private int minGallop = MIN_GALLOP;
+
+    /**
+     * Стек серий: начала и длины.
+     */
+    private final int[] runBase = new int[MAX_STACK];
+    private final int[] runLength = new int[MAX_STACK];
+    private int stackSize;
+
+    /**
+     * Состояние без массивов, см. SortWorkspace:
+     * стек серий переиспользуется между вызовами.
+     */
+    RunMergeSort() {
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param buffer   вспомогательный массив длиной не меньше (to - from) / 2
+     */
+    static void sort(final int[] intArray, final int from, final int to,
+                     final int[] buffer) {
+        sort(intArray, from, to, buffer, null);
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте с переиспользуемым состоянием.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param buffer   вспомогательный массив длиной не меньше (to - from) / 2
+     * @param state    состояние из SortWorkspace или null
+     */
+    static void sort(final int[] intArray, final int from, final int to,
+                     final int[] buffer, final RunMergeSort state) {
+        int remaining = to - from;
+        if (remaining < 2) {
+            return;
+        }
+
+        // короткий диапазон: одна серия плюс бинарные вставки
+        if (remaining < MIN_MERGE) {
+            int initialRun = countRunAndMakeAscending(intArray, from, to);
+            binarySort(intArray, from, to, from + initialRun);
+            return;
+        }
+
+        RunMergeSort merger = state == null ? new RunMergeSort() : state;
+        merger.array = intArray;
+        merger.buffer = buffer;
+        merger.minGallop = MIN_GALLOP;
+        merger.stackSize = 0;
+        int minRun = minRunLength(remaining);
+        int lo = from;
+        do {
+            int run = countRunAndMakeAscending(intArray, lo, to);
+            // короткую серию добиваем до minRun
+            if (run < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binarySort(intArray, lo, lo + forced, lo + run);
+                run = forced;
+            }
+            merger.pushRun(lo, run);
+            merger.mergeCollapse();
+            lo += run;
+            remaining -= run;
+        } while (remaining != 0);
+        merger.mergeForceCollapse();
+        // не держим ссылки на массивы вызывающего
+        merger.array = null;
+        merger.buffer = null;
+    }
+
+    /**
+     * Число серий в диапазоне [from, to) в том смысле,
+     * в каком их находит сортировка. Массив не меняется.
+     * Подсчёт прекращается, как только серий стало больше limit.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param limit    после скольких серий можно остановиться
+     * @return число серий, но не больше limit + 1
+     */
+    static int countRuns(final int[] intArray, final int from, final int to,
+                         final int limit) {
+        int runs = 0;
+        int i = from;
+        while (i < to && runs <= limit) {
+            runs++;
+            int next = i + 1;
+            if (next < to && intArray[next] < intArray[i]) {
+                while (next < to && intArray[next] < intArray[next - 1]) {
+                    next++;
+                }
+            } else {
+                while (next < to && intArray[next] >= intArray[next - 1]) {
+                    next++;
+                }
+            }
+            i = next;
+        }
+        return runs;
+    }
+
+    /**
+     * Длина серии, начинающейся в lo.
+     * Строго убывающая серия разворачивается
+     * (строгость нужна для стабильности).
+     *
+     * @param intArray массив
+     * @param lo       начало серии
+     * @param hi       конец диапазона (не включительно)
+     * @return длина серии
+     */
+    private static int countRunAndMakeAscending(final int[] intArray,
+                                                final int lo, final int hi) {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        if (intArray[runHi++] < intArray[lo]) {
+            while (runHi < hi && intArray[runHi] < intArray[runHi - 1]) {
+                runHi++;
+            }
+            reverse(intArray, lo, runHi);
+        } else {
+            while (runHi < hi && intArray[runHi] >= intArray[runHi - 1]) {
+                runHi++;
+            }
+        }
+        return runHi - lo;
+    }
+
+    /**
+     * Разворот диапазона [lo, hi).
+     */
+    private static void reverse(final int[] intArray, final int lo, final int hi) {
+        int left = lo;
+        int right = hi - 1;
+        while (left < right) {
+            int tmp = intArray[left];
+            intArray[left++] = intArray[right];
+            intArray[right--] = tmp;
+        }
+    }
+
+    /**
+     * Бинарные вставки: [lo, start) уже отсортирован,
+     * элементы [start, hi) вставляются по одному.
+     * Равные элементы вставляются после существующих - стабильно.
+     */
+    private static void binarySort(final int[] intArray, final int lo, final int hi,
+                                   final int start) {
+        for (int i = start; i < hi; i++) {
+            int pivot = intArray[i];
+            int left = lo;
+            int right = i;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (pivot < intArray[mid]) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(intArray, left, intArray, left + 1, i - left);
+            intArray[left] = pivot;
+        }
+    }
+
+    /**
+     * Минимальная длина серии: число из [MIN_MERGE/2, MIN_MERGE],
+     * при котором length / minRun близко к степени двойки снизу.
+     */
+    private static int minRunLength(final int length) {
+        int n = length;
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    private void pushRun(final int base, final int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * Слияние верхних серий стека, пока не выполнены инварианты:
+     * len[n-2] > len[n-1] + len[n] и len[n-1] > len[n].
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+                    || (n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1])) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Слияние всех серий стека в одну.
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Слияние серий i и i+1 стека.
+     */
+    private void mergeAt(final int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        runLength[i] = length1 + length2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+
+        // начало первой серии, которое не больше начала второй, уже на месте
+        int k = gallopRight(array[base2], array, base1, length1, 0);
+        base1 += k;
+        length1 -= k;
+        if (length1 == 0) {
+            return;
+        }
+        // хвост второй серии, который не меньше конца первой, тоже на месте
+        length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+
+        if (length1 <= length2) {
+            mergeLo(base1, length1, base2, length2);
+        } else {
+            mergeHi(base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * Позиция вставки key в отсортированный кусок слева от равных:
+     * a[base + k - 1] < key <= a[base + k].
+     * Поиск экспоненциальный от позиции hint.
+     */
+    private static int gallopLeft(final int key, final int[] a, final int base,
+                                  final int length, final int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (key > a[base + hint]) {
+            // скачем вправо, пока a[base + hint + offset] < key
+            int maxOffset = length - hint;
+            while (offset < maxOffset && key > a[base + hint + offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            // скачем влево, пока key <= a[base + hint - offset]
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && key <= a[base + hint - offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            int tmp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - tmp;
+        }
+
+        // бинарный поиск в (lastOffset, offset]
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (key > a[base + mid]) {
+                lastOffset = mid + 1;
+            } else {
+                offset = mid;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Позиция вставки key в отсортированный кусок справа от равных:
+     * a[base + k - 1] <= key < a[base + k].
+     * Поиск экспоненциальный от позиции hint.
+     */
+    private static int gallopRight(final int key, final int[] a, final int base,
+                                   final int length, final int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (key < a[base + hint]) {
+            // скачем влево, пока key < a[base + hint - offset]
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && key < a[base + hint - offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            int tmp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - tmp;
+        } else {
+            // скачем вправо, пока a[base + hint + offset] <= key
+            int maxOffset = length - hint;
+            while (offset < maxOffset && key >= a[base + hint + offset]) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            if (offset > maxOffset) {
+                offset = maxOffset;
+            }
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+            if (key < a[base + mid]) {
+                offset = mid;
+            } else {
+                lastOffset = mid + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Слияние слева направо, первая серия короче и копируется в буфер.
+     * Первый элемент второй серии меньше первого элемента первой,
+     * последний элемент первой серии больше всех во второй.
+     */
+    private void mergeLo(final int base1, final int length1,
+                         final int base2, final int length2) {
+        int[] a = array;
+        int[] tmp = buffer;
+        System.arraycopy(a, base1, tmp, 0, length1);
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        int len1 = length1;
+        int len2 = length2;
+
+        a[dest++] = a[cursor2++];
+        if (--len2 == 0) {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+            return;
+        }
+
+        int gallop = minGallop;
+        outer:
+        while (true) {
+            // сколько раз подряд выиграла каждая серия
+            int count1 = 0;
+            int count2 = 0;
+
+            // поэлементное слияние, пока ни одна серия не выигрывает долго
+            do {
+                if (a[cursor2] < tmp[cursor1]) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            // галоп: переносим блоки целиком, пока это выгодно
+            do {
+                count1 = gallopRight(a[cursor2], tmp, cursor1, len1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--len2 == 0) {
+                    break outer;
+                }
+
+                count2 = gallopLeft(tmp[cursor1], a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = tmp[cursor1++];
+                if (--len1 == 1) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            if (gallop < 0) {
+                gallop = 0;
+            }
+            // галоп не окупился - в следующий раз включаем его позже
+            gallop += 2;
+        }
+        minGallop = gallop < 1 ? 1 : gallop;
+
+        if (len1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, len2);
+            a[dest + len2] = tmp[cursor1];
+        } else {
+            System.arraycopy(tmp, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * Слияние справа налево, вторая серия короче и копируется в буфер.
+     */
+    private void mergeHi(final int base1, final int length1,
+                         final int base2, final int length2) {
+        int[] a = array;
+        int[] tmp = buffer;
+        System.arraycopy(a, base2, tmp, 0, length2);
+
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int dest = base2 + length2 - 1;
+        int len1 = length1;
+        int len2 = length2;
+
+        a[dest--] = a[cursor1--];
+        if (--len1 == 0) {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+            return;
+        }
+
+        int gallop = minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+
+            do {
+                if (tmp[cursor2] < a[cursor1]) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            do {
+                count1 = len1 - gallopRight(tmp[cursor2], a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = tmp[cursor2--];
+                if (--len2 == 1) {
+                    break outer;
+                }
+
+                count2 = len2 - gallopLeft(a[cursor1], tmp, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--len1 == 0) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+            if (gallop < 0) {
+                gallop = 0;
+            }
+            gallop += 2;
+        }
+        minGallop = gallop < 1 ? 1 : gallop;
+
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, len1);
+            a[dest] = tmp[cursor2];
+        } else {
+            System.arraycopy(tmp, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+}
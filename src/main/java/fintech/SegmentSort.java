@@ -0,0 +1,138 @@
+package fintech;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Пакетная сортировка множества маленьких массивов,
+ * лежащих подряд в одном int[] (формат CSR):
+ * сегмент i - это [offsets[i], offsets[i + 1]).
+ * Сегменты до 8 элементов сортируются сетями сортировки
+ * (фиксированная последовательность сравнений-обменов без ветвлений
+ * по данным), остальные - интроспективной сортировкой,
+ * которая для маленьких кусков переходит на вставки.
+ */
+final class SegmentSort {
+
+    /**
+     * Наибольший сегмент, сортируемый сетью.
+     */
+    static final int NETWORK_MAX = 8;
+
+    /**
+     * Меньше стольких элементов на задачу параллелить невыгодно.
+     */
+    private static final int MIN_PARALLEL_CHUNK = 1 << 13;
+
+    /**
+     * Сети сортировки минимального размера для 2..8 элементов:
+     * пары индексов, которые сравниваются и при необходимости меняются.
+     */
+    private static final int[][] NETWORKS = {
+            {},
+            {},
+            {0, 1},
+            {0, 2, 0, 1, 1, 2},
+            {0, 2, 1, 3, 0, 1, 2, 3, 1, 2},
+            {0, 3, 1, 4, 0, 2, 1, 3, 0, 1, 2, 4, 1, 2, 3, 4, 2, 3},
+            {0, 5, 1, 3, 2, 4, 1, 2, 3, 4, 0, 3, 2, 5, 0, 1, 2, 3, 4, 5, 1, 2, 3, 4},
+            {0, 6, 2, 3, 4, 5, 0, 2, 1, 4, 3, 6, 0, 1, 2, 5, 3, 4, 1, 2, 4, 6,
+                    2, 3, 4, 5, 1, 2, 3, 4, 5, 6},
+            {0, 2, 1, 3, 4, 6, 5, 7, 0, 4, 1, 5, 2, 6, 3, 7, 0, 1, 2, 3, 4, 5, 6, 7,
+                    2, 4, 3, 5, 1, 4, 3, 6, 1, 2, 3, 4, 5, 6},
+    };
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private SegmentSort() {
+    }
+
+    /**
+     * Последовательная сортировка сегментов [first, last).
+     *
+     * @param data    данные
+     * @param offsets границы сегментов
+     * @param first   номер первого сегмента (включительно)
+     * @param last    номер последнего сегмента (не включительно)
+     */
+    static void sort(final int[] data, final int[] offsets,
+                     final int first, final int last) {
+        for (int s = first; s < last; s++) {
+            int from = offsets[s];
+            int length = offsets[s + 1] - from;
+            if (length <= NETWORK_MAX) {
+                network(data, from, NETWORKS[length]);
+            } else {
+                IntroSort.sort(data, from, from + length);
+            }
+        }
+    }
+
+    /**
+     * Параллельная сортировка всех сегментов.
+     * Сегменты делятся на группы примерно равного
+     * суммарного числа элементов, а не равного числа сегментов,
+     * поэтому несколько длинных сегментов не задерживают остальные.
+     *
+     * @param data    данные
+     * @param offsets границы сегментов
+     * @param pool    пул потоков
+     */
+    static void sortParallel(final int[] data, final int[] offsets,
+                             final ForkJoinPool pool) {
+        final int segments = offsets.length - 1;
+        long total = (long) offsets[segments] - offsets[0];
+        int chunks = (int) Math.min(pool.getParallelism() * 4L, total / MIN_PARALLEL_CHUNK);
+        if (chunks < 2 || pool.getParallelism() < 2) {
+            sort(data, offsets, 0, segments);
+            return;
+        }
+
+        long chunkSize = total / chunks;
+        List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(chunks);
+        int first = 0;
+        while (first < segments) {
+            // набираем сегменты, пока группа не наберёт chunkSize элементов
+            long limit = offsets[first] + chunkSize;
+            int last = first + 1;
+            while (last < segments && offsets[last] < limit) {
+                last++;
+            }
+            final int start = first;
+            final int end = last;
+            tasks.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    sort(data, offsets, start, end);
+                }
+            }));
+            first = last;
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    /**
+     * Применение сети сортировки к сегменту.
+     *
+     * @param data    данные
+     * @param from    индекс начала сегмента
+     * @param network пары индексов сети
+     */
+    private static void network(final int[] data, final int from, final int[] network) {
+        for (int p = 0; p < network.length; p += 2) {
+            int i = from + network[p];
+            int j = from + network[p + 1];
+            int a = data[i];
+            int b = data[j];
+            data[i] = Math.min(a, b);
+            data[j] = Math.max(a, b);
+        }
+    }
+}
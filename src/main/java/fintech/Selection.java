@@ -0,0 +1,124 @@
+package fintech;
+
+/**
+ * Выбор k-го по величине элемента (introselect).
+ * Быстрый выбор с медианой трёх и трёхсторонним разбиением;
+ * если разбиения оказываются плохими (глубина больше 2*log2(n)),
+ * опора выбирается медианой медиан, что гарантирует O(n).
+ */
+final class Selection {
+
+    /**
+     * Куски не больше этого размера досортировываются вставками.
+     */
+    private static final int INSERTION_THRESHOLD = 16;
+
+    /**
+     * Размер группы в медиане медиан.
+     */
+    private static final int GROUP = 5;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private Selection() {
+    }
+
+    /**
+     * Перестановка диапазона [from, to) так, что на месте index
+     * оказывается элемент, который стоял бы там после сортировки,
+     * слева - не больше его, справа - не меньше.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param index    абсолютный индекс из [from, to)
+     */
+    static void select(final int[] intArray, final int from, final int to,
+                       final int index) {
+        int lo = from;
+        int hi = to;
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(to - from));
+        while (hi - lo > INSERTION_THRESHOLD) {
+            int pivot;
+            if (depth > 0) {
+                depth--;
+                pivot = median(intArray[lo], intArray[lo + (hi - lo) / 2], intArray[hi - 1]);
+            } else {
+                pivot = medianOfMedians(intArray, lo, hi);
+            }
+
+            // [lo, lt) < опоры, [lt, gt) == опоре, [gt, hi) > опоры
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i < gt) {
+                int value = intArray[i];
+                if (value < pivot) {
+                    intArray[i++] = intArray[lt];
+                    intArray[lt++] = value;
+                } else if (value > pivot) {
+                    intArray[i] = intArray[--gt];
+                    intArray[gt] = value;
+                } else {
+                    i++;
+                }
+            }
+
+            // продолжаем только в той части, где лежит index
+            if (index < lt) {
+                hi = lt;
+            } else if (index >= gt) {
+                lo = gt;
+            } else {
+                return;
+            }
+        }
+        IntroSort.insertionSort(intArray, lo, hi);
+    }
+
+    /**
+     * Медиана медиан групп по пять.
+     * Медианы групп собираются в начале диапазона,
+     * их медиана находится рекурсивным выбором.
+     *
+     * @param intArray массив
+     * @param lo       индекс начала диапазона (включительно)
+     * @param hi       индекс конца диапазона (не включительно)
+     * @return значение опоры
+     */
+    private static int medianOfMedians(final int[] intArray, final int lo, final int hi) {
+        int medians = 0;
+        for (int start = lo; start < hi; start += GROUP) {
+            int end = Math.min(start + GROUP, hi);
+            IntroSort.insertionSort(intArray, start, end);
+            int mid = start + (end - start) / 2;
+            int target = lo + medians;
+            int tmp = intArray[target];
+            intArray[target] = intArray[mid];
+            intArray[mid] = tmp;
+            medians++;
+        }
+        int middle = lo + medians / 2;
+        select(intArray, lo, lo + medians, middle);
+        return intArray[middle];
+    }
+
+    /**
+     * Медиана трёх чисел.
+     */
+    private static int median(final int a, final int b, final int c) {
+        if (a < b) {
+            if (b < c) {
+                return b;
+            }
+            return a < c ? c : a;
+        }
+        if (a < c) {
+            return a;
+        }
+        return b < c ? c : b;
+    }
+}
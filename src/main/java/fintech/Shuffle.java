@@ -0,0 +1,162 @@
+package fintech;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Тасование диапазона массива на месте.
+ * Последовательный вариант - Фишер — Йетс или Саттоло.
+ * Параллельный вариант - MergeShuffle: блоки тасуются независимо,
+ * затем соседние блоки попарно сливаются случайным слиянием,
+ * которое сохраняет равновероятность перестановок.
+ */
+final class Shuffle {
+
+    /**
+     * Диапазоны короче этого тасуются последовательно.
+     */
+    static final int PARALLEL_MIN = 1 << 16;
+
+    /**
+     * Минимальный размер блока параллельного тасования.
+     */
+    private static final int MIN_BLOCK = 1 << 14;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private Shuffle() {
+    }
+
+    /**
+     * Последовательное тасование диапазона [from, to).
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param random   генератор случайных чисел
+     * @param mode     вариант тасования
+     */
+    static void shuffle(final int[] intArray, final int from, final int to,
+                        final RandomGenerator random, final ShuffleMode mode) {
+        // Саттоло выбирает только среди ячеек левее текущей
+        int bias = mode == ShuffleMode.SATTOLO ? 0 : 1;
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + bias);
+            int tmp = intArray[i];
+            intArray[i] = intArray[j];
+            intArray[j] = tmp;
+        }
+    }
+
+    /**
+     * Параллельное равновероятное тасование диапазона [from, to).
+     * Генераторы для блоков и слияний отщепляются заранее в потоке
+     * вызывающего, поэтому результат при одном и том же начальном
+     * генераторе не зависит от планирования задач.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param random   расщепляемый генератор случайных чисел
+     * @param pool     пул потоков
+     */
+    static void shuffleParallel(final int[] intArray, final int from, final int to,
+                                final RandomGenerator.SplittableGenerator random,
+                                final ForkJoinPool pool) {
+        int length = to - from;
+        int blocks = Integer.highestOneBit(Math.max(1,
+                Math.min(pool.getParallelism() * 4, length / MIN_BLOCK)));
+        if (length < PARALLEL_MIN || pool.getParallelism() < 2 || blocks < 2) {
+            shuffle(intArray, from, to, random, ShuffleMode.FISHER_YATES);
+            return;
+        }
+
+        final int[] bounds = new int[blocks + 1];
+        for (int b = 0; b <= blocks; b++) {
+            bounds[b] = from + (int) ((long) length * b / blocks);
+        }
+
+        // независимое тасование блоков
+        List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>(blocks);
+        for (int b = 0; b < blocks; b++) {
+            final RandomGenerator blockRandom = random.split();
+            final int start = bounds[b];
+            final int end = bounds[b + 1];
+            tasks.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    shuffle(intArray, start, end, blockRandom, ShuffleMode.FISHER_YATES);
+                }
+            }));
+        }
+        joinAll(tasks);
+
+        // попарное слияние соседних блоков, уровень за уровнем
+        for (int step = 1; step < blocks; step *= 2) {
+            tasks.clear();
+            for (int b = 0; b < blocks; b += 2 * step) {
+                final RandomGenerator mergeRandom = random.split();
+                final int start = bounds[b];
+                final int middle = bounds[b + step];
+                final int end = bounds[b + 2 * step];
+                tasks.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        merge(intArray, start, middle, end, mergeRandom);
+                    }
+                }));
+            }
+            joinAll(tasks);
+        }
+    }
+
+    /**
+     * Случайное слияние двух перетасованных соседних кусков
+     * [from, middle) и [middle, to) (Bacher, Bodini, Hollender, Lumbroso).
+     * Пока оба куска не исчерпаны, следующий элемент берётся
+     * из левого или правого по броску монеты; остаток
+     * вставляется на случайные позиции, как в Фишере — Йетсе.
+     */
+    private static void merge(final int[] intArray, final int from, final int middle,
+                              final int to, final RandomGenerator random) {
+        int i = from;
+        int j = middle;
+        while (true) {
+            if (random.nextBoolean()) {
+                if (j == to) {
+                    break;
+                }
+                int tmp = intArray[i];
+                intArray[i] = intArray[j];
+                intArray[j] = tmp;
+                j++;
+            } else if (i == j) {
+                break;
+            }
+            i++;
+        }
+        for (; i < to; i++) {
+            int k = from + random.nextInt(i - from + 1);
+            int tmp = intArray[i];
+            intArray[i] = intArray[k];
+            intArray[k] = tmp;
+        }
+    }
+
+    /**
+     * Дождаться всех задач.
+     *
+     * @param tasks задачи
+     */
+    private static void joinAll(final List<ForkJoinTask<?>> tasks) {
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package fintech;
+
+/**
+ * Вариант тасования массива.
+ */
+public enum ShuffleMode {
+
+    /**
+     * Фишер — Йетс: все n! перестановок равновероятны.
+     */
+    FISHER_YATES,
+
+    /**
+     * Саттоло: равновероятны (n-1)! циклических перестановок,
+     * ни один элемент не остаётся на своём месте.
+     */
+    SATTOLO
+}
@@ -0,0 +1,173 @@
+package fintech;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Необязательная инструментовка сортировок ArraySorter.
+ * Включается системным свойством -Dfintech.sort.metrics=true.
+ * <p>
+ * ENABLED - константа, поэтому при выключенной инструментовке
+ * JIT выбрасывает все ветки учёта и горячий путь не меняется.
+ * При включённой для каждого алгоритма считаются вызовы, элементы,
+ * время (сумма и гистограмма по степеням двойки) и байты,
+ * выделенные в потоке вызывающего. Сравнения и обмены считают
+ * selection, gnome, cocktail и quick, глубину рекурсии - quick.
+ * <p>
+ * Счётчики доступны через snapshot() и как MXBean
+ * fintech:type=SortMetrics,name=имя алгоритма;
+ * при включённой инструментовке MXBean регистрируются сами.
+ */
+public final class SortMetrics {
+
+    /**
+     * Включена ли инструментовка.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("fintech.sort.metrics");
+
+    /**
+     * Счётчики по имени алгоритма, в порядке регистрации.
+     */
+    private static final Map<String, AlgorithmMetrics> METRICS =
+            new LinkedHashMap<String, AlgorithmMetrics>();
+
+    static final AlgorithmMetrics SELECTION = create("selection");
+    static final AlgorithmMetrics GNOME = create("gnome");
+    static final AlgorithmMetrics COCKTAIL = create("cocktail");
+    static final AlgorithmMetrics QUICK = create("quick");
+    static final AlgorithmMetrics INTRO = create("intro");
+    static final AlgorithmMetrics VECTOR = create("vector");
+    static final AlgorithmMetrics COUNTING = create("counting");
+    static final AlgorithmMetrics THREE_WAY = create("three_way");
+    static final AlgorithmMetrics DESCENDING = create("descending");
+    static final AlgorithmMetrics COMPARATOR = create("comparator");
+    static final AlgorithmMetrics MERGE = create("merge");
+    static final AlgorithmMetrics RADIX = create("radix");
+    static final AlgorithmMetrics PARALLEL = create("parallel");
+    static final AlgorithmMetrics ADAPTIVE = create("adaptive");
+    static final AlgorithmMetrics SEGMENTS = create("segments");
+
+    static {
+        if (ENABLED) {
+            registerMBeans();
+        }
+    }
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private SortMetrics() {
+    }
+
+    /**
+     * Счётчики алгоритма по имени.
+     *
+     * @param name имя алгоритма без учёта регистра: "three_way"
+     *             или StandardSorter.THREE_WAY.name()
+     * @return счётчики
+     */
+    public static AlgorithmMetrics get(final String name) {
+        if (name == null) {
+            throw (new ArraySorterException("Sorter name is null"));
+        }
+        AlgorithmMetrics metrics = METRICS.get(name.toLowerCase(Locale.ROOT));
+        if (metrics == null) {
+            throw (new ArraySorterException("Unknown sorter: " + name));
+        }
+        return metrics;
+    }
+
+    /**
+     * Снимки счётчиков всех алгоритмов.
+     *
+     * @return снимки по имени алгоритма
+     */
+    public static Map<String, AlgorithmMetrics.Snapshot> snapshot() {
+        Map<String, AlgorithmMetrics.Snapshot> snapshots =
+                new LinkedHashMap<String, AlgorithmMetrics.Snapshot>();
+        for (AlgorithmMetrics metrics : METRICS.values()) {
+            snapshots.put(metrics.getName(), metrics.snapshot());
+        }
+        return Collections.unmodifiableMap(snapshots);
+    }
+
+    /**
+     * Обнуление счётчиков всех алгоритмов.
+     */
+    public static void reset() {
+        for (AlgorithmMetrics metrics : METRICS.values()) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Регистрация MXBean всех алгоритмов в платформенном MBeanServer.
+     * Повторная регистрация ничего не делает.
+     */
+    public static void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (AlgorithmMetrics metrics : METRICS.values()) {
+            try {
+                server.registerMBean(metrics, new ObjectName(
+                        "fintech:type=SortMetrics,name=" + metrics.getName()));
+            } catch (InstanceAlreadyExistsException e) {
+                // уже зарегистрирован
+            } catch (JMException e) {
+                throw (new ArraySorterException("Cannot register MBean for "
+                        + metrics.getName() + ": " + e, e));
+            }
+        }
+    }
+
+    /**
+     * Байты, выделенные текущим потоком, или -1,
+     * если JVM этого не поддерживает.
+     *
+     * @return число байт
+     */
+    static long allocatedBytes() {
+        return Allocation.BEAN == null ? -1L : Allocation.BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Регистрация счётчиков алгоритма.
+     */
+    private static AlgorithmMetrics create(final String name) {
+        AlgorithmMetrics metrics = new AlgorithmMetrics(name);
+        METRICS.put(name, metrics);
+        return metrics;
+    }
+
+    /**
+     * Ленивая загрузка ThreadMXBean: при выключенной инструментовке
+     * класс не инициализируется.
+     */
+    private static final class Allocation {
+
+        /**
+         * ThreadMXBean с учётом выделения памяти или null.
+         */
+        static final com.sun.management.ThreadMXBean BEAN = find();
+
+        private static com.sun.management.ThreadMXBean find() {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported()
+                        && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package fintech;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Асинхронная сортировка для множества конкурентных вызывающих.
+ * <p>
+ * Задания складываются в ограниченную очередь: когда она заполнена,
+ * submit сразу выкидывает RejectedExecutionException, и нагрузка
+ * не копится в памяти, а возвращается вызывающему. Очередь разбирают
+ * не больше concurrency задач исполнителя одновременно.
+ * Маленькие задания (до BATCH_MAX_LENGTH элементов) подряд
+ * собираются в пакет и сортируются одним вызовом sortSegments,
+ * большие (от PARALLEL_MIN_LENGTH) уходят в параллельную сортировку,
+ * остальные сортируются адаптивно. Рабочие области сортировок
+ * принадлежат сервису и выдаются задачам разбора из пула,
+ * поэтому переиспользуются и с потоками, живущими одну задачу.
+ * <p>
+ * В Java 17 виртуальных потоков нет, поэтому по умолчанию используется
+ * ограниченный пул; на новых JVM можно передать исполнитель
+ * виртуальных потоков. Методы потокобезопасны.
+ */
+public final class SortService implements AutoCloseable {
+
+    /**
+     * Задания не длиннее этого собираются в пакеты.
+     */
+    public static final int BATCH_MAX_LENGTH = 256;
+
+    /**
+     * Наибольшее число элементов в одном пакете.
+     */
+    public static final int BATCH_MAX_ELEMENTS = 1 << 14;
+
+    /**
+     * Задания от этой длины сортируются параллельно.
+     */
+    public static final int PARALLEL_MIN_LENGTH = 1 << 16;
+
+    /**
+     * Ёмкость очереди по умолчанию.
+     */
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 12;
+
+    /**
+     * Исполнитель задач разбора очереди.
+     */
+    private final Executor executor;
+
+    /**
+     * Пул для параллельной сортировки больших заданий.
+     */
+    private final ForkJoinPool parallelPool;
+
+    /**
+     * Собственный пул, который закрывается вместе с сервисом, или null.
+     */
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Наибольшее число одновременных задач разбора.
+     */
+    private final int concurrency;
+
+    /**
+     * Очередь заданий.
+     */
+    private final BlockingQueue<Job> queue;
+
+    /**
+     * Число запущенных задач разбора.
+     */
+    private final AtomicInteger activeDrainers = new AtomicInteger();
+
+    /**
+     * Свободные рабочие области задач разбора: их не больше concurrency.
+     */
+    private final Queue<SortWorkspace> workspaces = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Монитор для ожидания в close().
+     */
+    private final Object lock = new Object();
+
+    /**
+     * Принятые и ещё не завершённые задания.
+     */
+    private int pending;
+
+    /**
+     * Сервис закрыт и новых заданий не принимает.
+     */
+    private boolean closed;
+
+    /**
+     * Сервис с собственным пулом по числу процессоров,
+     * параллельной сортировкой в общем ForkJoinPool
+     * и очередью на DEFAULT_QUEUE_CAPACITY заданий.
+     */
+    public SortService() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Сервис с собственным пулом на threads потоков.
+     *
+     * @param threads       число потоков, >0
+     * @param queueCapacity ёмкость очереди, >0
+     */
+    public SortService(final int threads, final int queueCapacity) {
+        this(createPool(threads), ForkJoinPool.commonPool(), threads, queueCapacity, true);
+    }
+
+    /**
+     * Сервис с исполнителем вызывающего.
+     * Исполнитель не закрывается вместе с сервисом.
+     *
+     * @param executor      исполнитель задач разбора очереди
+     * @param parallelPool  пул параллельной сортировки больших заданий
+     * @param concurrency   наибольшее число одновременных задач разбора, >0
+     * @param queueCapacity ёмкость очереди, >0
+     */
+    public SortService(final Executor executor, final ForkJoinPool parallelPool,
+                       final int concurrency, final int queueCapacity) {
+        this(executor, parallelPool, concurrency, queueCapacity, false);
+    }
+
+    private SortService(final Executor executor, final ForkJoinPool parallelPool,
+                        final int concurrency, final int queueCapacity,
+                        final boolean owned) {
+        if (executor == null) {
+            throw (new ArraySorterException("Executor is null"));
+        }
+        if (parallelPool == null) {
+            throw (new ArraySorterException("Parallel pool is null"));
+        }
+        if (concurrency < 1) {
+            throw (new ArraySorterException("Concurrency must be positive"));
+        }
+        if (queueCapacity < 1) {
+            throw (new ArraySorterException("Queue capacity must be positive"));
+        }
+        this.executor = executor;
+        this.parallelPool = parallelPool;
+        this.ownedExecutor = owned ? (ExecutorService) executor : null;
+        this.concurrency = concurrency;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Пул потоков-демонов для конструктора по умолчанию.
+     *
+     * @param threads число потоков
+     * @return пул
+     */
+    private static ExecutorService createPool(final int threads) {
+        if (threads < 1) {
+            throw (new ArraySorterException("Thread count must be positive"));
+        }
+        AtomicInteger number = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sort-service-" + number.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Асинхронная сортировка копии массива.
+     * Массив копируется сразу и может переиспользоваться
+     * вызывающим после возврата.
+     *
+     * @param intArray массив
+     * @return отсортированная копия
+     * @throws RejectedExecutionException если очередь заполнена
+     *                                    или сервис закрыт
+     */
+    public CompletableFuture<int[]> submit(final int[] intArray) {
+        return submit(intArray, 0, intArray.length);
+    }
+
+    /**
+     * Асинхронная сортировка копии диапазона [from, to).
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @return отсортированная копия диапазона
+     * @throws RejectedExecutionException если очередь заполнена
+     *                                    или сервис закрыт
+     */
+    public CompletableFuture<int[]> submit(final int[] intArray, final int from, final int to) {
+        ArraySorter.checkRange(intArray.length, from, to);
+        int[] values = new int[to - from];
+        System.arraycopy(intArray, from, values, 0, values.length);
+        Job job = new Job(values);
+        synchronized (lock) {
+            if (closed) {
+                throw (new RejectedExecutionException("SortService is closed"));
+            }
+            if (values.length < 2) {
+                job.future.complete(values);
+                return job.future;
+            }
+            if (!queue.offer(job)) {
+                throw (new RejectedExecutionException("Sort queue is full ("
+                        + (queue.size() + queue.remainingCapacity()) + " jobs)"));
+            }
+            pending++;
+        }
+        if (tryAcquireDrainer()) {
+            startDrainer();
+        }
+        return job.future;
+    }
+
+    /**
+     * Число заданий в очереди, для мониторинга.
+     *
+     * @return число ожидающих заданий
+     */
+    public int queued() {
+        return queue.size();
+    }
+
+    /**
+     * Закрытие: новые задания отвергаются, принятые досортировываются.
+     * Ждёт завершения принятых заданий, собственный пул останавливается.
+     */
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        synchronized (lock) {
+            closed = true;
+            while (pending > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Занять место задачи разбора, если не все заняты.
+     *
+     * @return удалось ли
+     */
+    private boolean tryAcquireDrainer() {
+        while (true) {
+            int active = activeDrainers.get();
+            if (active >= concurrency) {
+                return false;
+            }
+            if (activeDrainers.compareAndSet(active, active + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Запуск задачи разбора в исполнителе.
+     * Если исполнитель отказал, очередь разбирается в текущем потоке.
+     */
+    private void startDrainer() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drain();
+        }
+    }
+
+    /**
+     * Разбор очереди, пока она не опустеет.
+     * Место задачи разбора освобождается только после возврата
+     * рабочей области в пул, поэтому областей не больше concurrency.
+     * После освобождения места очередь проверяется ещё раз:
+     * задание могло прийти, когда место ещё было занято.
+     */
+    private void drain() {
+        boolean again = true;
+        while (again) {
+            SortWorkspace workspace = workspaces.poll();
+            if (workspace == null) {
+                workspace = new SortWorkspace();
+            }
+            boolean completed = false;
+            try {
+                drain(workspace);
+                completed = true;
+            } finally {
+                workspaces.offer(workspace);
+                activeDrainers.decrementAndGet();
+                again = !queue.isEmpty() && tryAcquireDrainer();
+                if (again && !completed) {
+                    // разбор прерван ошибкой: место уже занято,
+                    // очередь продолжит новая задача
+                    startDrainer();
+                }
+            }
+        }
+    }
+
+    /**
+     * Разбор очереди с рабочей областью из пула сервиса,
+     * пока в ней есть задания.
+     *
+     * @param workspace рабочая область задачи разбора
+     */
+    private void drain(final SortWorkspace workspace) {
+        List<Job> batch = new ArrayList<>();
+        Job carried = null;
+        while (true) {
+            Job job = carried != null ? carried : queue.poll();
+            carried = null;
+            if (job == null) {
+                return;
+            }
+            if (job.values.length > BATCH_MAX_LENGTH) {
+                run(job, workspace);
+                continue;
+            }
+            // собираем подряд идущие маленькие задания в пакет
+            batch.add(job);
+            int elements = job.values.length;
+            while (true) {
+                Job next = queue.poll();
+                if (next == null) {
+                    break;
+                }
+                if (next.values.length > BATCH_MAX_LENGTH
+                        || elements + next.values.length > BATCH_MAX_ELEMENTS) {
+                    carried = next;
+                    break;
+                }
+                batch.add(next);
+                elements += next.values.length;
+            }
+            runBatch(batch, elements, workspace);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Сортировка одного задания.
+     * Результат отдаётся после сортировки: зависимые действия
+     * выполняются в этом же потоке и не должны застать работу незаконченной.
+     *
+     * @param job       задание
+     * @param workspace рабочая область задачи разбора
+     */
+    private void run(final Job job, final SortWorkspace workspace) {
+        Throwable error = null;
+        try {
+            int[] values = job.values;
+            if (values.length >= PARALLEL_MIN_LENGTH) {
+                ArraySorter.sortParallelInPlace(values, 0, values.length,
+                        parallelPool, ArraySorter.PARALLEL_THRESHOLD);
+            } else {
+                ArraySorter.sortInPlace(values, 0, values.length, workspace);
+            }
+        } catch (Throwable e) {
+            error = e;
+        }
+        complete(job, error);
+        finished(1);
+    }
+
+    /**
+     * Сортировка пакета маленьких заданий: значения выкладываются подряд
+     * в буфер рабочей области и сортируются как сегменты.
+     * Все задания копируются обратно до выдачи первого результата:
+     * зависимые действия выполняются в этом же потоке.
+     *
+     * @param batch     задания
+     * @param elements  суммарная длина заданий
+     * @param workspace рабочая область задачи разбора
+     */
+    private void runBatch(final List<Job> batch, final int elements,
+                          final SortWorkspace workspace) {
+        Throwable error = null;
+        try {
+            int[] data = workspace.buffer(elements);
+            int[] offsets = new int[batch.size() + 1];
+            for (int i = 0; i < batch.size(); i++) {
+                int[] values = batch.get(i).values;
+                System.arraycopy(values, 0, data, offsets[i], values.length);
+                offsets[i + 1] = offsets[i] + values.length;
+            }
+            ArraySorter.sortSegments(data, offsets);
+            for (int i = 0; i < batch.size(); i++) {
+                Job job = batch.get(i);
+                System.arraycopy(data, offsets[i], job.values, 0, job.values.length);
+            }
+        } catch (Throwable e) {
+            error = e;
+        }
+        for (Job job : batch) {
+            complete(job, error);
+        }
+        finished(batch.size());
+    }
+
+    /**
+     * Выдача результата задания.
+     *
+     * @param job   задание
+     * @param error ошибка сортировки или null
+     */
+    private static void complete(final Job job, final Throwable error) {
+        if (error == null) {
+            job.future.complete(job.values);
+        } else {
+            job.future.completeExceptionally(error);
+        }
+    }
+
+    /**
+     * Учёт завершённых заданий для close().
+     *
+     * @param jobs число заданий
+     */
+    private void finished(final int jobs) {
+        synchronized (lock) {
+            pending -= jobs;
+            if (pending == 0) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Задание: копия данных и результат.
+     */
+    private static final class Job {
+
+        private final int[] values;
+        private final CompletableFuture<int[]> future = new CompletableFuture<>();
+
+        private Job(final int[] values) {
+            this.values = values;
+        }
+    }
+}
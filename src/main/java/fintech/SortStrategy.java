@@ -0,0 +1,41 @@
+package fintech;
+
+/**
+ * Алгоритм, выбранный адаптивной сортировкой ArraySorter.sort.
+ * Возвращается вызывающему, чтобы можно было видеть
+ * и настраивать выбор.
+ */
+public enum SortStrategy {
+
+    /**
+     * Диапазон уже упорядочен или упорядочен строго в обратном порядке
+     * и только развёрнут - сортировать не нужно.
+     */
+    PRESORTED,
+
+    /**
+     * Сортировка вставками - для совсем маленьких массивов.
+     */
+    INSERTION,
+
+    /**
+     * Сортировка подсчётом - диапазон значений не шире длины массива.
+     */
+    COUNTING,
+
+    /**
+     * Слияние готовых упорядоченных кусков - почти отсортированный массив.
+     */
+    RUN_MERGE,
+
+    /**
+     * Поразрядная сортировка - большие массивы без особой структуры.
+     */
+    RADIX,
+
+    /**
+     * Интроспективная сортировка - всё остальное,
+     * в том числе массивы с большим числом повторов.
+     */
+    INTRO
+}
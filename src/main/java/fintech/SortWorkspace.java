@@ -0,0 +1,243 @@
+package fintech;
+
+/**
+ * Переиспользуемые вспомогательные массивы для сортировок:
+ * буфер слияния и поразрядной сортировки, гистограммы,
+ * счётчики сортировки подсчётом, перестановка для sortByKey.
+ * <p>
+ * Массивы выделяются лениво и растут по мере надобности,
+ * так что в установившемся режиме сортировки с рабочей областью
+ * не выделяют памяти. Объект не потокобезопасен:
+ * держите его в потоке (см. current()) или выдавайте из пула.
+ * <p>
+ * Политика сжатия: массивы длиннее retainLimit не удерживаются,
+ * а раз в SHRINK_PERIOD запросов освобождаются массивы,
+ * вдвое превышающие наибольший запрос за этот период,
+ * чтобы один большой вызов не держал память навсегда.
+ */
+public final class SortWorkspace {
+
+    /**
+     * Удерживаемая длина по умолчанию: 1M элементов (4 МБ на массив).
+     */
+    public static final int DEFAULT_RETAIN_LIMIT = 1 << 20;
+
+    /**
+     * Через сколько запросов массивов проверяется сжатие.
+     */
+    static final int SHRINK_PERIOD = 1024;
+
+    /**
+     * Пустой массив - ещё ничего не выделено.
+     */
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Рабочая область текущего потока.
+     */
+    private static final ThreadLocal<SortWorkspace> CURRENT =
+            ThreadLocal.withInitial(SortWorkspace::new);
+
+    /**
+     * Самый длинный удерживаемый массив.
+     */
+    private final int retainLimit;
+
+    private int[] buffer = EMPTY;
+    private int[] permutation = EMPTY;
+    private int[] counts = EMPTY;
+    private int[] histogram = EMPTY;
+    private RunMergeSort mergeState;
+
+    /**
+     * Запросов массивов в текущем периоде.
+     */
+    private int requests;
+
+    /**
+     * Наибольший запрос в текущем периоде.
+     */
+    private int peak;
+
+    /**
+     * Рабочая область с удерживаемой длиной DEFAULT_RETAIN_LIMIT.
+     */
+    public SortWorkspace() {
+        this(DEFAULT_RETAIN_LIMIT);
+    }
+
+    /**
+     * Рабочая область с заданной удерживаемой длиной.
+     * При retainLimit == 0 ничего не удерживается,
+     * и каждый вызов выделяет память, как сортировка без рабочей области.
+     *
+     * @param retainLimit самый длинный удерживаемый массив, >=0
+     */
+    public SortWorkspace(final int retainLimit) {
+        if (retainLimit < 0) {
+            throw (new ArraySorterException("Retain limit must not be negative"));
+        }
+        this.retainLimit = retainLimit;
+    }
+
+    /**
+     * Рабочая область текущего потока.
+     *
+     * @return рабочая область, созданная при первом вызове в потоке
+     */
+    public static SortWorkspace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Освобождение всех удерживаемых массивов.
+     */
+    public void trim() {
+        buffer = EMPTY;
+        permutation = EMPTY;
+        counts = EMPTY;
+        histogram = EMPTY;
+        requests = 0;
+        peak = 0;
+    }
+
+    /**
+     * Суммарная длина удерживаемых массивов, для мониторинга.
+     *
+     * @return число удерживаемых int
+     */
+    public long retainedLength() {
+        return (long) buffer.length + permutation.length + counts.length + histogram.length;
+    }
+
+    public int getRetainLimit() {
+        return retainLimit;
+    }
+
+    /**
+     * Буфер слияния, поразрядной и векторной сортировок.
+     *
+     * @param length требуемая длина
+     * @return массив длиной не меньше length
+     */
+    int[] buffer(final int length) {
+        track(length);
+        int[] array = acquire(buffer, length);
+        if (array.length <= retainLimit) {
+            buffer = array;
+        }
+        return array;
+    }
+
+    /**
+     * Перестановка для сортировки индексов.
+     *
+     * @param length требуемая длина
+     * @return массив длиной не меньше length
+     */
+    int[] permutation(final int length) {
+        track(length);
+        int[] array = acquire(permutation, length);
+        if (array.length <= retainLimit) {
+            permutation = array;
+        }
+        return array;
+    }
+
+    /**
+     * Счётчики сортировки подсчётом.
+     * Содержимое не обнуляется.
+     *
+     * @param length требуемая длина
+     * @return массив длиной не меньше length
+     */
+    int[] counts(final int length) {
+        track(length);
+        int[] array = acquire(counts, length);
+        if (array.length <= retainLimit) {
+            counts = array;
+        }
+        return array;
+    }
+
+    /**
+     * Гистограммы поразрядной сортировки.
+     * Содержимое не обнуляется.
+     *
+     * @return массив длиной RadixSort.HISTOGRAM_LENGTH
+     */
+    int[] histogram() {
+        track(RadixSort.HISTOGRAM_LENGTH);
+        int[] array = acquire(histogram, RadixSort.HISTOGRAM_LENGTH);
+        if (array.length <= retainLimit) {
+            histogram = array;
+        }
+        return array;
+    }
+
+    /**
+     * Стек серий сортировки слиянием.
+     *
+     * @return переиспользуемое состояние
+     */
+    RunMergeSort mergeState() {
+        if (mergeState == null) {
+            mergeState = new RunMergeSort();
+        }
+        return mergeState;
+    }
+
+    /**
+     * Учёт запроса для политики сжатия.
+     * Вызывается до чтения поля, которое может освободить сжатие.
+     *
+     * @param length требуемая длина
+     */
+    private void track(final int length) {
+        if (++requests > SHRINK_PERIOD) {
+            shrink();
+        }
+        if (length > peak) {
+            peak = length;
+        }
+    }
+
+    /**
+     * Выдача массива не короче length: текущего, если его хватает,
+     * иначе нового с запасом в полтора раза, но не длиннее retainLimit.
+     * Вызывающий сохраняет результат, только если он не длиннее retainLimit.
+     *
+     * @param current текущий массив
+     * @param length  требуемая длина
+     * @return массив длиной не меньше length
+     */
+    private int[] acquire(final int[] current, final int length) {
+        if (length <= current.length) {
+            return current;
+        }
+        if (length > retainLimit) {
+            return new int[length];
+        }
+        int grown = current.length + (current.length >> 1);
+        return new int[Math.max(length, Math.min(grown, retainLimit))];
+    }
+
+    /**
+     * Освобождение массивов, вдвое превышающих наибольший запрос
+     * прошедшего периода, и начало нового периода.
+     */
+    private void shrink() {
+        long keep = 2L * peak;
+        if (buffer.length > keep) {
+            buffer = EMPTY;
+        }
+        if (permutation.length > keep) {
+            permutation = EMPTY;
+        }
+        if (counts.length > keep) {
+            counts = EMPTY;
+        }
+        requests = 1;
+        peak = 0;
+    }
+}
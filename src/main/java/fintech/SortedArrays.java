@@ -0,0 +1,475 @@
+package fintech;
+
+/**
+ * Операции над отсортированными по возрастанию int[]:
+ * поиск, слияние и операции над множествами.
+ * Все диапазоны полуоткрытые [from, to), результат пишется
+ * в массив вызывающего, методы возвращают индекс конца
+ * записанного или число записанных элементов и память не выделяют.
+ * Сортированность входа не проверяется.
+ */
+public final class SortedArrays {
+
+    /**
+     * Во сколько раз один массив должен быть длиннее другого,
+     * чтобы пересечение искало элементы короткого в длинном скачками.
+     */
+    private static final int GALLOP_RATIO = 32;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private SortedArrays() {
+    }
+
+    /**
+     * Первый индекс в [from, to), где значение не меньше key,
+     * или to, если таких нет.
+     * Двоичный поиск без ветвлений по данным: на каждом шаге
+     * база сдвигается условной пересылкой, число шагов зависит
+     * только от длины, поэтому нет ошибок предсказания переходов.
+     *
+     * @param sortedArray отсортированный массив
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param key         искомое значение
+     * @return индекс нижней границы
+     */
+    public static int lowerBound(final int[] sortedArray, final int from, final int to,
+                                 final int key) {
+        ArraySorter.checkRange(sortedArray.length, from, to);
+        int length = to - from;
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = sortedArray[base + half - 1] < key ? base + half : base;
+            length -= half;
+        }
+        return sortedArray[base] < key ? base + 1 : base;
+    }
+
+    /**
+     * Первый индекс в [from, to), где значение больше key,
+     * или to, если таких нет. Без ветвлений, как lowerBound.
+     *
+     * @param sortedArray отсортированный массив
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param key         искомое значение
+     * @return индекс верхней границы
+     */
+    public static int upperBound(final int[] sortedArray, final int from, final int to,
+                                 final int key) {
+        ArraySorter.checkRange(sortedArray.length, from, to);
+        int length = to - from;
+        if (length == 0) {
+            return from;
+        }
+        int base = from;
+        while (length > 1) {
+            int half = length >>> 1;
+            base = sortedArray[base + half - 1] <= key ? base + half : base;
+            length -= half;
+        }
+        return sortedArray[base] <= key ? base + 1 : base;
+    }
+
+    /**
+     * Поиск значения, как Arrays.binarySearch:
+     * индекс первого вхождения или -(точка вставки) - 1.
+     *
+     * @param sortedArray отсортированный массив
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param key         искомое значение
+     * @return индекс или отрицательная точка вставки
+     */
+    public static int binarySearch(final int[] sortedArray, final int from, final int to,
+                                   final int key) {
+        int index = lowerBound(sortedArray, from, to, key);
+        return index < to && sortedArray[index] == key ? index : -index - 1;
+    }
+
+    /**
+     * Нижняя граница скачками (galloping): проверяются позиции
+     * from, from + 1, from + 3, from + 7, ..., затем двоичный поиск
+     * в последнем окне. O(log d), где d - расстояние до ответа,
+     * поэтому выгоден, когда ответ близко к началу.
+     *
+     * @param sortedArray отсортированный массив
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param key         искомое значение
+     * @return индекс нижней границы
+     */
+    public static int gallopLowerBound(final int[] sortedArray, final int from, final int to,
+                                       final int key) {
+        ArraySorter.checkRange(sortedArray.length, from, to);
+        // всё левее lo меньше key
+        int lo = from;
+        if (lo == to || sortedArray[lo] >= key) {
+            return lo;
+        }
+        int step = 1;
+        while (step < to - lo && sortedArray[lo + step] < key) {
+            lo += step;
+            // удваиваем шаг, не выходя за конец диапазона (и без переполнения)
+            int remaining = to - lo;
+            step = step < remaining >>> 1 ? step << 1 : remaining;
+        }
+        return lowerBound(sortedArray, lo + 1, lo + Math.min(step, to - lo), key);
+    }
+
+    /**
+     * Раскладка отсортированного диапазона в порядке Эйтцингера
+     * (в ширину по неявному дереву поиска): dst[1] - корень,
+     * потомки dst[k] - dst[2k] и dst[2k + 1], dst[0] не используется.
+     * Поиск по такой раскладке обходит память предсказуемо
+     * и хорошо работает с предвыборкой.
+     *
+     * @param sortedArray отсортированный массив
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @param dst         массив длиной не меньше to - from + 1
+     */
+    public static void toEytzinger(final int[] sortedArray, final int from, final int to,
+                                   final int[] dst) {
+        ArraySorter.checkRange(sortedArray.length, from, to);
+        checkBuffer(dst, to - from + 1L);
+        fillEytzinger(sortedArray, from, dst, 1, to - from);
+    }
+
+    /**
+     * Нижняя граница в раскладке Эйтцингера из n элементов:
+     * индекс k в eytzinger, где лежит первое значение не меньше key,
+     * или 0, если таких нет.
+     *
+     * @param eytzinger раскладка из toEytzinger
+     * @param n         число элементов
+     * @param key       искомое значение
+     * @return индекс в раскладке или 0
+     */
+    public static int eytzingerLowerBound(final int[] eytzinger, final int n, final int key) {
+        if (n < 0 || n >= eytzinger.length) {
+            throw (new ArraySorterException("Invalid size " + n
+                    + " for layout of length " + eytzinger.length));
+        }
+        int k = 1;
+        while (k <= n) {
+            k = 2 * k + (eytzinger[k] < key ? 1 : 0);
+        }
+        // убираем последние шаги вправо и ещё один шаг влево
+        return k >>> (Integer.numberOfTrailingZeros(~k) + 1);
+    }
+
+    /**
+     * Слияние двух отсортированных диапазонов в dst начиная с dstFrom.
+     * Равные значения из a идут раньше значений из b.
+     *
+     * @return индекс конца записанного в dst
+     */
+    public static int merge(final int[] a, final int aFrom, final int aTo,
+                            final int[] b, final int bFrom, final int bTo,
+                            final int[] dst, final int dstFrom) {
+        ArraySorter.checkRange(a.length, aFrom, aTo);
+        ArraySorter.checkRange(b.length, bFrom, bTo);
+        checkBuffer(dst, (long) dstFrom + (aTo - aFrom) + (bTo - bFrom));
+        int i = aFrom;
+        int j = bFrom;
+        int k = dstFrom;
+        while (i < aTo && j < bTo) {
+            dst[k++] = b[j] < a[i] ? b[j++] : a[i++];
+        }
+        System.arraycopy(a, i, dst, k, aTo - i);
+        k += aTo - i;
+        System.arraycopy(b, j, dst, k, bTo - j);
+        return k + bTo - j;
+    }
+
+    /**
+     * Слияние двух отсортированных массивов в dst.
+     *
+     * @param a   первый массив
+     * @param b   второй массив
+     * @param dst массив длиной не меньше a.length + b.length
+     * @return число записанных элементов
+     */
+    public static int merge(final int[] a, final int[] b, final int[] dst) {
+        return merge(a, 0, a.length, b, 0, b.length, dst, 0);
+    }
+
+    /**
+     * k-путевое слияние отсортированных массивов в dst
+     * через min-кучу номеров массивов.
+     * Память под кучу (k int) выделяется на вызов.
+     *
+     * @param sortedArrays отсортированные массивы
+     * @param dst          массив длиной не меньше суммы длин
+     * @return число записанных элементов
+     */
+    public static int mergeAll(final int[][] sortedArrays, final int[] dst) {
+        long total = 0;
+        for (int[] array : sortedArrays) {
+            total += array.length;
+        }
+        checkBuffer(dst, total);
+
+        int count = sortedArrays.length;
+        int[] positions = new int[count];
+        int[] heap = new int[count];
+        int heapSize = 0;
+        for (int r = 0; r < count; r++) {
+            if (sortedArrays[r].length > 0) {
+                heap[heapSize++] = r;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(sortedArrays, positions, heap, heapSize, i);
+        }
+        int k = 0;
+        while (heapSize > 0) {
+            int r = heap[0];
+            dst[k++] = sortedArrays[r][positions[r]++];
+            if (positions[r] == sortedArrays[r].length) {
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(sortedArrays, positions, heap, heapSize, 0);
+        }
+        return k;
+    }
+
+    /**
+     * Удаление повторов из отсортированного диапазона на месте:
+     * различные значения собираются в начале диапазона.
+     *
+     * @param sortedArray отсортированный массив
+     * @param from        индекс начала диапазона (включительно)
+     * @param to          индекс конца диапазона (не включительно)
+     * @return индекс конца различных значений
+     */
+    public static int dedupe(final int[] sortedArray, final int from, final int to) {
+        ArraySorter.checkRange(sortedArray.length, from, to);
+        if (to - from < 2) {
+            return to;
+        }
+        int end = from + 1;
+        for (int i = from + 1; i < to; i++) {
+            int value = sortedArray[i];
+            if (value != sortedArray[end - 1]) {
+                sortedArray[end++] = value;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Объединение: различные значения, встречающиеся хотя бы в одном
+     * из диапазонов, по возрастанию.
+     *
+     * @return индекс конца записанного в dst
+     */
+    public static int union(final int[] a, final int aFrom, final int aTo,
+                            final int[] b, final int bFrom, final int bTo,
+                            final int[] dst, final int dstFrom) {
+        ArraySorter.checkRange(a.length, aFrom, aTo);
+        ArraySorter.checkRange(b.length, bFrom, bTo);
+        checkBuffer(dst, (long) dstFrom + (aTo - aFrom) + (bTo - bFrom));
+        int i = aFrom;
+        int j = bFrom;
+        int k = dstFrom;
+        while (i < aTo || j < bTo) {
+            int value;
+            if (j == bTo || (i < aTo && a[i] <= b[j])) {
+                value = a[i++];
+            } else {
+                value = b[j++];
+            }
+            if (k == dstFrom || dst[k - 1] != value) {
+                dst[k++] = value;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Объединение двух отсортированных массивов в dst.
+     *
+     * @return число записанных элементов
+     */
+    public static int union(final int[] a, final int[] b, final int[] dst) {
+        return union(a, 0, a.length, b, 0, b.length, dst, 0);
+    }
+
+    /**
+     * Пересечение: различные значения, встречающиеся в обоих диапазонах.
+     * Если один диапазон намного длиннее другого, элементы короткого
+     * ищутся в длинном скачками, иначе - встречным проходом.
+     *
+     * @return индекс конца записанного в dst
+     */
+    public static int intersection(final int[] a, final int aFrom, final int aTo,
+                                   final int[] b, final int bFrom, final int bTo,
+                                   final int[] dst, final int dstFrom) {
+        ArraySorter.checkRange(a.length, aFrom, aTo);
+        ArraySorter.checkRange(b.length, bFrom, bTo);
+        checkBuffer(dst, (long) dstFrom + Math.min(aTo - aFrom, bTo - bFrom));
+        int aLength = aTo - aFrom;
+        int bLength = bTo - bFrom;
+        if ((long) aLength * GALLOP_RATIO < bLength) {
+            return intersectGallop(a, aFrom, aTo, b, bFrom, bTo, dst, dstFrom);
+        }
+        if ((long) bLength * GALLOP_RATIO < aLength) {
+            return intersectGallop(b, bFrom, bTo, a, aFrom, aTo, dst, dstFrom);
+        }
+        int i = aFrom;
+        int j = bFrom;
+        int k = dstFrom;
+        while (i < aTo && j < bTo) {
+            int x = a[i];
+            int y = b[j];
+            if (x < y) {
+                i++;
+            } else if (y < x) {
+                j++;
+            } else {
+                if (k == dstFrom || dst[k - 1] != x) {
+                    dst[k++] = x;
+                }
+                i++;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Пересечение двух отсортированных массивов в dst.
+     *
+     * @return число записанных элементов
+     */
+    public static int intersection(final int[] a, final int[] b, final int[] dst) {
+        return intersection(a, 0, a.length, b, 0, b.length, dst, 0);
+    }
+
+    /**
+     * Разность: различные значения первого диапазона,
+     * которых нет во втором.
+     *
+     * @return индекс конца записанного в dst
+     */
+    public static int difference(final int[] a, final int aFrom, final int aTo,
+                                 final int[] b, final int bFrom, final int bTo,
+                                 final int[] dst, final int dstFrom) {
+        ArraySorter.checkRange(a.length, aFrom, aTo);
+        ArraySorter.checkRange(b.length, bFrom, bTo);
+        checkBuffer(dst, (long) dstFrom + (aTo - aFrom));
+        int j = bFrom;
+        int k = dstFrom;
+        for (int i = aFrom; i < aTo; i++) {
+            int value = a[i];
+            if (i > aFrom && a[i - 1] == value) {
+                continue;
+            }
+            while (j < bTo && b[j] < value) {
+                j++;
+            }
+            if (j == bTo || b[j] != value) {
+                dst[k++] = value;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Разность двух отсортированных массивов в dst.
+     *
+     * @return число записанных элементов
+     */
+    public static int difference(final int[] a, final int[] b, final int[] dst) {
+        return difference(a, 0, a.length, b, 0, b.length, dst, 0);
+    }
+
+    /**
+     * Пересечение короткого диапазона с длинным:
+     * каждый элемент короткого ищется скачками от предыдущей позиции.
+     */
+    private static int intersectGallop(final int[] small, final int smallFrom,
+                                       final int smallTo, final int[] large,
+                                       final int largeFrom, final int largeTo,
+                                       final int[] dst, final int dstFrom) {
+        int j = largeFrom;
+        int k = dstFrom;
+        for (int i = smallFrom; i < smallTo && j < largeTo; i++) {
+            int value = small[i];
+            if (k > dstFrom && dst[k - 1] == value) {
+                continue;
+            }
+            j = gallopLowerBound(large, j, largeTo, value);
+            if (j < largeTo && large[j] == value) {
+                dst[k++] = value;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Заполнение раскладки Эйтцингера обходом дерева в симметричном порядке.
+     *
+     * @return следующий индекс в исходном массиве
+     */
+    private static int fillEytzinger(final int[] sortedArray, final int index,
+                                     final int[] dst, final int k, final int n) {
+        int next = index;
+        if (k <= n) {
+            next = fillEytzinger(sortedArray, next, dst, 2 * k, n);
+            dst[k] = sortedArray[next++];
+            next = fillEytzinger(sortedArray, next, dst, 2 * k + 1, n);
+        }
+        return next;
+    }
+
+    /**
+     * Просеивание вниз в куче номеров массивов по текущему элементу.
+     */
+    private static void siftDown(final int[][] arrays, final int[] positions,
+                                 final int[] heap, final int size, final int index) {
+        if (size == 0) {
+            return;
+        }
+        int node = index;
+        int run = heap[node];
+        int value = arrays[run][positions[run]];
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            if (child + 1 < size && arrays[heap[child + 1]][positions[heap[child + 1]]]
+                    < arrays[heap[child]][positions[heap[child]]]) {
+                child++;
+            }
+            if (value <= arrays[heap[child]][positions[heap[child]]]) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = run;
+    }
+
+    /**
+     * Проверка размера массива результата.
+     *
+     * @param buffer   массив результата
+     * @param required требуемая длина
+     */
+    private static void checkBuffer(final int[] buffer, final long required) {
+        if (buffer.length < required) {
+            throw (new ArraySorterException("Buffer of length " + buffer.length
+                    + " is too small, " + required + " required"));
+        }
+    }
+}
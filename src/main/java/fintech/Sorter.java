@@ -0,0 +1,62 @@
+package fintech;
+
+/**
+ * Алгоритм сортировки массива целых чисел.
+ * Позволяет подменять реализацию, оборачивать её
+ * (метрики, логирование) и выбирать по имени через SorterRegistry.
+ */
+public interface Sorter {
+
+    /**
+     * Имя, под которым алгоритм регистрируется в SorterRegistry.
+     *
+     * @return имя алгоритма
+     */
+    String name();
+
+    /**
+     * Сортировка диапазона [from, to) на месте.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    void sort(int[] intArray, int from, int to);
+
+    /**
+     * Сортировка копии массива.
+     * Как и методы ArraySorter, не принимает пустой массив.
+     *
+     * @param intArray массив для сортировки
+     * @return сортированная копия
+     */
+    default int[] sortCopy(final int[] intArray) {
+        if (intArray.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        }
+        int[] newArray = intArray.clone();
+        sort(newArray, 0, newArray.length);
+        return newArray;
+    }
+
+    /**
+     * Сохраняет ли алгоритм порядок равных элементов.
+     *
+     * @return true, если сортировка стабильна
+     */
+    boolean isStable();
+
+    /**
+     * Обходится ли алгоритм без вспомогательного массива размера O(n).
+     *
+     * @return true, если сортировка на месте
+     */
+    boolean isInPlace();
+
+    /**
+     * Использует ли алгоритм несколько потоков.
+     *
+     * @return true, если сортировка параллельная
+     */
+    boolean isParallel();
+}
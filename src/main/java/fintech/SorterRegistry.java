@@ -0,0 +1,101 @@
+package fintech;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Реестр алгоритмов сортировки по имени.
+ * Имена не зависят от регистра.
+ * Стандартные алгоритмы (StandardSorter) зарегистрированы сразу,
+ * свои реализации добавляются через register,
+ * так что выбор алгоритма становится вопросом конфигурации.
+ */
+public final class SorterRegistry {
+
+    /**
+     * Алгоритмы по имени в нижнем регистре.
+     */
+    private static final Map<String, Sorter> SORTERS =
+            new ConcurrentHashMap<String, Sorter>();
+
+    static {
+        for (StandardSorter sorter : StandardSorter.values()) {
+            register(sorter);
+        }
+    }
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private SorterRegistry() {
+    }
+
+    /**
+     * Регистрация алгоритма под его именем.
+     * Алгоритм с тем же именем заменяется.
+     *
+     * @param sorter алгоритм
+     * @return алгоритм, который был зарегистрирован под этим именем раньше,
+     * или null
+     */
+    public static Sorter register(final Sorter sorter) {
+        return SORTERS.put(key(sorter.name()), sorter);
+    }
+
+    /**
+     * Удаление алгоритма из реестра.
+     *
+     * @param name имя алгоритма
+     * @return удалённый алгоритм или null
+     */
+    public static Sorter unregister(final String name) {
+        return SORTERS.remove(key(name));
+    }
+
+    /**
+     * Поиск алгоритма по имени.
+     *
+     * @param name имя алгоритма
+     * @return алгоритм
+     * @throws ArraySorterException если алгоритм не зарегистрирован
+     */
+    public static Sorter get(final String name) {
+        Sorter sorter = SORTERS.get(key(name));
+        if (sorter == null) {
+            throw (new ArraySorterException("Unknown sorter: " + name));
+        }
+        return sorter;
+    }
+
+    /**
+     * Алгоритм, имя которого задано системным свойством.
+     * Если свойство не задано, берётся имя по умолчанию.
+     *
+     * @param property    имя системного свойства
+     * @param defaultName имя алгоритма по умолчанию
+     * @return алгоритм
+     * @throws ArraySorterException если алгоритм не зарегистрирован
+     */
+    public static Sorter fromSystemProperty(final String property,
+                                            final String defaultName) {
+        return get(System.getProperty(property, defaultName));
+    }
+
+    /**
+     * Имена всех зарегистрированных алгоритмов.
+     *
+     * @return отсортированный набор имён
+     */
+    public static Set<String> names() {
+        return new TreeSet<String>(SORTERS.keySet());
+    }
+
+    private static String key(final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,156 @@
+package fintech;
+
+/**
+ * Алгоритмы ArraySorter в виде реализаций Sorter.
+ * Все они заранее зарегистрированы в SorterRegistry
+ * под именами в нижнем регистре: "selection", "quick" и т.д.
+ */
+public enum StandardSorter implements Sorter {
+
+    /**
+     * Сортировка выбором.
+     */
+    SELECTION(false, true, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortSelectionInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Гномья сортировка.
+     */
+    GNOME(true, true, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortGnomeInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Коктейльная сортировка.
+     */
+    COCKTAIL(true, true, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortCocktailInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Быстрая сортировка.
+     */
+    QUICK(false, true, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortQuickInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Интроспективная сортировка.
+     */
+    INTRO(false, true, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortIntroInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Сортировка подсчётом, диапазон значений до 2^24.
+     */
+    COUNTING(true, false, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortCountingInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Трёхсторонняя быстрая сортировка или подсчёт для данных с повторами.
+     */
+    THREE_WAY(false, false, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortThreeWayInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Стабильная сортировка слиянием с поиском серий.
+     */
+    MERGE(true, false, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortMergeInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Поразрядная сортировка.
+     */
+    RADIX(true, false, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortRadixInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Быстрая сортировка с векторным разбиением (Vector API),
+     * без поддержки векторов - интроспективная.
+     */
+    VECTOR(false, false, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortVectorInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Параллельная сортировка в общем ForkJoinPool.
+     */
+    PARALLEL(false, false, true) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortParallelInPlace(intArray, from, to);
+        }
+    },
+
+    /**
+     * Адаптивная сортировка.
+     */
+    ADAPTIVE(false, false, false) {
+        @Override
+        public void sort(final int[] intArray, final int from, final int to) {
+            ArraySorter.sortInPlace(intArray, from, to);
+        }
+    };
+
+    private final boolean stable;
+    private final boolean inPlace;
+    private final boolean parallel;
+
+    StandardSorter(final boolean stable, final boolean inPlace,
+                   final boolean parallel) {
+        this.stable = stable;
+        this.inPlace = inPlace;
+        this.parallel = parallel;
+    }
+
+    @Override
+    public boolean isStable() {
+        return stable;
+    }
+
+    @Override
+    public boolean isInPlace() {
+        return inPlace;
+    }
+
+    @Override
+    public boolean isParallel() {
+        return parallel;
+    }
+}
@@ -0,0 +1,150 @@
+package fintech;
+
+/**
+ * Потоковый отбор k наибольших (или наименьших) значений.
+ * Значения подаются по одному или массивами,
+ * хранится только ограниченная куча в массиве вызывающего,
+ * так что память не выделяется. O(log k) на значение.
+ * <p>
+ * Для k наименьших в куче хранятся инвертированные биты значений (~v):
+ * инверсия переворачивает порядок без переполнения,
+ * и одна и та же min-куча обслуживает оба случая.
+ * Объект не потокобезопасен.
+ */
+public final class TopKCollector {
+
+    /**
+     * Min-куча отобранных значений (после преобразования).
+     */
+    private final int[] heap;
+
+    /**
+     * Маска преобразования: 0 для наибольших, -1 (~v) для наименьших.
+     */
+    private final int mask;
+
+    /**
+     * Сколько значений сейчас в куче.
+     */
+    private int size;
+
+    /**
+     * Отбор buffer.length наибольших или наименьших значений.
+     *
+     * @param buffer  массив под кучу, его длина - k
+     * @param largest true - отбирать наибольшие, false - наименьшие
+     */
+    public TopKCollector(final int[] buffer, final boolean largest) {
+        if (buffer.length < 1) {
+            throw (new ArraySorterException("Input Array is empty"));
+        }
+        this.heap = buffer;
+        this.mask = largest ? 0 : -1;
+    }
+
+    /**
+     * Добавление значения.
+     *
+     * @param value значение
+     */
+    public void offer(final int value) {
+        int key = value ^ mask;
+        if (size < heap.length) {
+            // куча ещё не заполнена - просеиваем вверх
+            int node = size++;
+            while (node > 0) {
+                int parent = (node - 1) >>> 1;
+                if (heap[parent] <= key) {
+                    break;
+                }
+                heap[node] = heap[parent];
+                node = parent;
+            }
+            heap[node] = key;
+        } else if (key > heap[0]) {
+            // новое значение лучше худшего из отобранных - заменяем корень
+            siftDown(key);
+        }
+    }
+
+    /**
+     * Добавление значений диапазона [from, to) массива.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     */
+    public void offer(final int[] intArray, final int from, final int to) {
+        ArraySorter.checkRange(intArray.length, from, to);
+        for (int i = from; i < to; i++) {
+            offer(intArray[i]);
+        }
+    }
+
+    /**
+     * Число отобранных значений: min(k, сколько подано).
+     *
+     * @return число значений
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Худшее из отобранных значений: k-е наибольшее (или наименьшее).
+     *
+     * @return граничное значение
+     */
+    public int threshold() {
+        if (size == 0) {
+            throw (new ArraySorterException("No values offered"));
+        }
+        return heap[0] ^ mask;
+    }
+
+    /**
+     * Запись отобранных значений в dst по возрастанию.
+     * Состояние сборщика не меняется.
+     *
+     * @param dst массив длиной не меньше size()
+     * @return число записанных значений
+     */
+    public int toSortedArray(final int[] dst) {
+        if (dst.length < size) {
+            throw (new ArraySorterException("Buffer of length " + dst.length
+                    + " is too small, " + size + " required"));
+        }
+        for (int i = 0; i < size; i++) {
+            dst[i] = heap[i] ^ mask;
+        }
+        IntroSort.sort(dst, 0, size);
+        return size;
+    }
+
+    /**
+     * Очистка для повторного использования.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Замена корня кучи и просеивание вниз.
+     */
+    private void siftDown(final int key) {
+        int node = 0;
+        int half = size >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = key;
+    }
+}
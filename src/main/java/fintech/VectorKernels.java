@@ -0,0 +1,190 @@
+package fintech;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Векторные ядра на jdk.incubator.vector.
+ * Используются только при VectorSupport.AVAILABLE.
+ * <p>
+ * Ширина - 256 бит (8 int, AVX2): под неё построена таблица
+ * упаковки для разбиения. На машинах с AVX-512 она тоже работает,
+ * операцию compress, которая позволила бы взять 16 lane,
+ * в Vector API добавили только в JDK 19.
+ */
+final class VectorKernels {
+
+    /**
+     * Вид векторов: 8 int.
+     */
+    static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_256;
+
+    /**
+     * Число lane.
+     */
+    static final int LANES = SPECIES.length();
+
+    /**
+     * Число int в самом широком векторе, который поддерживает процессор.
+     */
+    static final int PREFERRED_LANES = IntVector.SPECIES_PREFERRED.length();
+
+    /**
+     * Веса lane 1, 2, 4, ...: маска сравнения переводится в биты
+     * через blend и свёртку OR (VectorMask.toLong в JDK 17 не интринсик).
+     */
+    private static final IntVector LANE_BITS = IntVector.broadcast(SPECIES, 1)
+            .lanewise(VectorOperators.LSHL, IntVector.zero(SPECIES).addIndex(1));
+
+    /**
+     * Нулевой вектор.
+     */
+    private static final IntVector ZERO = IntVector.zero(SPECIES);
+
+    /**
+     * Перестановки упаковки: для каждой маски из 8 бит
+     * отмеченные lane переносятся в начало вектора с сохранением порядка.
+     */
+    @SuppressWarnings("unchecked")
+    private static final VectorShuffle<Integer>[] PACK =
+            (VectorShuffle<Integer>[]) new VectorShuffle<?>[1 << LANES];
+
+    static {
+        int[] indexes = new int[LANES];
+        for (int mask = 0; mask < PACK.length; mask++) {
+            int k = 0;
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((mask & (1 << lane)) != 0) {
+                    indexes[k++] = lane;
+                }
+            }
+            // хвост не важен, заполняем оставшимися lane
+            for (int lane = 0; lane < LANES; lane++) {
+                if ((mask & (1 << lane)) == 0) {
+                    indexes[k++] = lane;
+                }
+            }
+            PACK[mask] = VectorShuffle.fromArray(SPECIES, indexes, 0);
+        }
+    }
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private VectorKernels() {
+    }
+
+    /**
+     * Минимум и максимум диапазона [from, to) за один проход.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно), to > from
+     * @return минимум в старших 32 битах, максимум в младших
+     */
+    static long minMax(final int[] intArray, final int from, final int to) {
+        int i = from;
+        int min = intArray[from];
+        int max = min;
+        int bound = from + SPECIES.loopBound(to - from);
+        if (bound > from) {
+            IntVector mins = IntVector.fromArray(SPECIES, intArray, i);
+            IntVector maxs = mins;
+            for (i += LANES; i < bound; i += LANES) {
+                IntVector v = IntVector.fromArray(SPECIES, intArray, i);
+                mins = mins.min(v);
+                maxs = maxs.max(v);
+            }
+            min = mins.reduceLanes(VectorOperators.MIN);
+            max = maxs.reduceLanes(VectorOperators.MAX);
+        }
+        for (; i < to; i++) {
+            min = Math.min(min, intArray[i]);
+            max = Math.max(max, intArray[i]);
+        }
+        return ((long) min << 32) | (max & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Индекс максимума диапазона [from, last] для сортировки выбором:
+     * last, если там максимум, иначе первое вхождение максимума -
+     * как у скалярного цикла.
+     *
+     * @param intArray массив
+     * @param from     индекс начала диапазона (включительно)
+     * @param last     индекс конца диапазона (включительно)
+     * @return индекс максимума
+     */
+    static int maxIndex(final int[] intArray, final int from, final int last) {
+        int max = (int) minMax(intArray, from, last + 1);
+        if (intArray[last] == max) {
+            return last;
+        }
+        int i = from;
+        int bound = from + SPECIES.loopBound(last + 1 - from);
+        for (; i < bound; i += LANES) {
+            VectorMask<Integer> hits = IntVector.fromArray(SPECIES, intArray, i)
+                    .compare(VectorOperators.EQ, max);
+            if (hits.anyTrue()) {
+                return i + hits.firstTrue();
+            }
+        }
+        while (intArray[i] != max) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Разбиение диапазона [from, to): элементы, для которых
+     * сравнение с опорой истинно (value &lt; pivot или value &lt;= pivot),
+     * упаковываются в начало диапазона на месте, остальные - в scratch
+     * и затем копируются следом. Порядок внутри частей сохраняется.
+     * <p>
+     * Запись на месте безопасна: позиция записи не обгоняет позицию
+     * чтения, а прочитанный вектор уже в регистре.
+     *
+     * @param intArray  массив
+     * @param from      индекс начала диапазона (включительно)
+     * @param to        индекс конца диапазона (не включительно)
+     * @param pivot     опора
+     * @param inclusive true - слева value &lt;= pivot, false - value &lt; pivot
+     * @param scratch   буфер длиной не меньше to - from + LANES
+     * @return индекс начала правой части
+     */
+    static int partition(final int[] intArray, final int from, final int to,
+                         final int pivot, final boolean inclusive, final int[] scratch) {
+        int left = from;
+        int right = 0;
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        for (; i < bound; i += LANES) {
+            IntVector v = IntVector.fromArray(SPECIES, intArray, i);
+            // операция сравнения должна быть константой, иначе JIT не векторизует
+            VectorMask<Integer> less = inclusive
+                    ? v.compare(VectorOperators.LE, pivot)
+                    : v.compare(VectorOperators.LT, pivot);
+            int bits = ZERO.blend(LANE_BITS, less).reduceLanes(VectorOperators.OR);
+            int count = Integer.bitCount(bits);
+            v.rearrange(PACK[bits]).intoArray(intArray, left);
+            v.rearrange(PACK[~bits & 0xFF]).intoArray(scratch, right);
+            left += count;
+            right += LANES - count;
+        }
+        for (; i < to; i++) {
+            int value = intArray[i];
+            if (inclusive ? value <= pivot : value < pivot) {
+                intArray[left++] = value;
+            } else {
+                scratch[right++] = value;
+            }
+        }
+        System.arraycopy(scratch, 0, intArray, left, right);
+        return left;
+    }
+}
@@ -0,0 +1,74 @@
+package fintech;
+
+/**
+ * Быстрая сортировка с векторным разбиением (VectorKernels.partition).
+ * Используется только при VectorSupport.AVAILABLE.
+ * Опора - как в IntroSort; разбиение двустороннее (&lt; опоры и &gt;= опоры),
+ * если левая часть пуста (опора - минимум), второй проход отделяет
+ * равные опоре. Куски короче VectorSupport.MIN_LENGTH и слишком глубокая
+ * рекурсия передаются скалярной интроспективной сортировке.
+ */
+final class VectorSort {
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private VectorSort() {
+    }
+
+    /**
+     * Сортировка диапазона [from, to) на месте
+     * с вспомогательным массивом вызывающего.
+     *
+     * @param intArray массив для сортировки
+     * @param from     индекс начала диапазона (включительно)
+     * @param to       индекс конца диапазона (не включительно)
+     * @param scratch  вспомогательный массив длиной не меньше
+     *                 to - from + VectorKernels.LANES
+     */
+    static void sort(final int[] intArray, final int from, final int to,
+                     final int[] scratch) {
+        int length = to - from;
+        if (length < VectorSupport.MIN_LENGTH) {
+            IntroSort.sort(intArray, from, to);
+            return;
+        }
+        sort(intArray, from, to, scratch, 2 * (31 - Integer.numberOfLeadingZeros(length)));
+    }
+
+    /**
+     * Рекурсивная часть: меньший кусок рекурсией, больший - в цикле.
+     */
+    private static void sort(final int[] intArray, final int from, final int to,
+                             final int[] scratch, final int depthLimit) {
+        int lo = from;
+        int hi = to;
+        int depth = depthLimit;
+        while (hi - lo >= VectorSupport.MIN_LENGTH) {
+            if (depth == 0) {
+                IntroSort.heapSort(intArray, lo, hi);
+                return;
+            }
+            depth--;
+
+            int pivot = IntroSort.choosePivot(intArray, lo, hi);
+            int mid = VectorKernels.partition(intArray, lo, hi, pivot, false, scratch);
+            if (mid == lo) {
+                // опора - минимум: равные ей уже на месте, дальше только большие
+                lo = VectorKernels.partition(intArray, lo, hi, pivot, true, scratch);
+                continue;
+            }
+
+            if (mid - lo < hi - mid) {
+                sort(intArray, lo, mid, scratch, depth);
+                lo = mid;
+            } else {
+                sort(intArray, mid, hi, scratch, depth);
+                hi = mid;
+            }
+        }
+        IntroSort.sort(intArray, lo, hi);
+    }
+}
@@ -0,0 +1,51 @@
+package fintech;
+
+/**
+ * Проверка доступности векторных ядер (jdk.incubator.vector).
+ * Модуль инкубаторный: приложение подключает его флагом
+ * --add-modules jdk.incubator.vector. Без него, при отключении
+ * свойством -Dfintech.sort.vector=false или при векторах короче
+ * 8 int (нет AVX2) используются скалярные ядра.
+ * <p>
+ * Классы с векторным кодом загружаются только после успешной проверки,
+ * так что без модуля ничего не ломается.
+ */
+final class VectorSupport {
+
+    /**
+     * Можно ли использовать VectorKernels и VectorSort.
+     */
+    static final boolean AVAILABLE = detect();
+
+    /**
+     * Диапазоны короче этого обрабатываются скалярно:
+     * на коротких векторный код не окупается.
+     */
+    static final int MIN_LENGTH = 64;
+
+    /**
+     * Приватный конструктор.
+     * Для предотвращения
+     * инициализации объекта
+     */
+    private VectorSupport() {
+    }
+
+    /**
+     * Проверка модуля, свойства и ширины векторов.
+     *
+     * @return доступны ли векторные ядра
+     */
+    private static boolean detect() {
+        if (!Boolean.parseBoolean(System.getProperty("fintech.sort.vector", "true"))
+                || !ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return false;
+        }
+        try {
+            return VectorKernels.PREFERRED_LANES >= VectorKernels.LANES;
+        } catch (LinkageError e) {
+            // модуль есть в образе, но не прочитан этим модулем
+            return false;
+        }
+    }
+}
@@ -7,6 +7,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -229,6 +234,74 @@ public class ArraySorterTest {
         shuffledArray = ArraySorter.shuffle(initialArray);
     }
 
+    /**
+     * Фишер — Йетс с генератором должен давать все перестановки
+     * трёх элементов примерно поровну.
+     */
+    @Test
+    public void testShuffleFisherYatesIsUniform() {
+        SplittableRandom random = new SplittableRandom(15);
+        int[] counts = new int[9];
+        for (int n = 0; n < 60000; n++) {
+            shuffledArray = new int[]{0, 1, 2};
+            ArraySorter.shuffleInPlace(shuffledArray, 0, 3, random, ShuffleMode.FISHER_YATES);
+            counts[shuffledArray[0] * 3 + shuffledArray[1]]++;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            boolean permutation = i / 3 != i % 3;
+            assertThat("Перестановка " + i + ": " + counts[i], permutation
+                    ? Math.abs(counts[i] - 10000) < 600 : counts[i] == 0);
+        }
+    }
+
+    /**
+     * Саттоло с генератором не должен оставлять элементы на месте,
+     * а одинаковый генератор должен давать одинаковый результат.
+     */
+    @Test
+    public void testShuffleSattoloMovesEveryElement() {
+        int[] initialArray = new int[1000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = i;
+        }
+        shuffledArray = initialArray.clone();
+        ArraySorter.shuffleInPlace(shuffledArray, 0, 1000, new SplittableRandom(1), ShuffleMode.SATTOLO);
+        int[] again = initialArray.clone();
+        ArraySorter.shuffleInPlace(again, 0, 1000, new SplittableRandom(1), ShuffleMode.SATTOLO);
+
+        assertThat("Результат должен воспроизводиться", Arrays.equals(shuffledArray, again));
+        for (int i = 0; i < shuffledArray.length; i++) {
+            assertThat("Элемент " + i + " остался на месте", shuffledArray[i] != i);
+        }
+    }
+
+    /**
+     * Параллельное тасование большого массива должно переставлять
+     * элементы, не теряя их, и воспроизводиться при одном начальном значении.
+     */
+    @Test
+    public void testShuffleParallelIsReproduciblePermutation() {
+        int[] initialArray = new int[300000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = i;
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        int[] again = initialArray.clone();
+        shuffledArray = initialArray.clone();
+        try {
+            ArraySorter.shuffleParallelInPlace(shuffledArray, 5, 299995, new SplittableRandom(2), pool);
+            ArraySorter.shuffleParallelInPlace(again, 5, 299995, new SplittableRandom(2), pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertThat("Результат должен воспроизводиться", Arrays.equals(shuffledArray, again));
+        assertThat("Массив должен быть перемешан", !Arrays.equals(initialArray, shuffledArray));
+        assertThat("Элементы вне диапазона не должны меняться",
+                shuffledArray[4] == 4 && shuffledArray[299995] == 299995);
+        Arrays.sort(again);
+        assertThat("Элементы не должны теряться", Arrays.equals(initialArray, again));
+    }
+
     /**
      * Метод должен выкидывать ArraySorterException
      * при передаче в него пустого массива.
@@ -674,6 +747,995 @@ public class ArraySorterTest {
         sortedArray = ArraySorter.sortQuick(initialArray);
     }
 
+    /*
+     * Тестирование методов сортировки на месте:
+     * shuffleInPlace(),
+     * sortSelectionInPlace(),
+     * sortGnomeInPlace(),
+     * sortCocktailInPlace(),
+     * sortQuickInPlace().
+     * <p>
+     * Методы изменяют переданный массив
+     * только в пределах диапазона [from, to).
+     */
+
+    /**
+     * Методы должны сортировать весь массив на месте.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortInPlaceSortsWholeArray(int[] initialArray) {
+        int[] expected = initialArray.clone();
+        Arrays.sort(expected);
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortSelectionInPlace(sortedArray, 0, sortedArray.length);
+        assertThat("Selection: массив должен быть отсортирован",
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortGnomeInPlace(sortedArray, 0, sortedArray.length);
+        assertThat("Gnome: массив должен быть отсортирован",
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortCocktailInPlace(sortedArray, 0, sortedArray.length);
+        assertThat("Cocktail: массив должен быть отсортирован",
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortQuickInPlace(sortedArray, 0, sortedArray.length);
+        assertThat("Quick: массив должен быть отсортирован",
+                Arrays.equals(expected, sortedArray));
+    }
+
+    /**
+     * Методы не должны трогать элементы вне диапазона.
+     */
+    @Test
+    public void testSortInPlaceKeepsOutsideOfRange() {
+        int[] initialArray = new int[]{9, 8, 5, 3, 4, 1, 0, -1};
+        int[] expected = new int[]{9, 8, 1, 3, 4, 5, 0, -1};
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortSelectionInPlace(sortedArray, 2, 6);
+        assertThat("Selection: " + Arrays.toString(sortedArray),
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortGnomeInPlace(sortedArray, 2, 6);
+        assertThat("Gnome: " + Arrays.toString(sortedArray),
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortCocktailInPlace(sortedArray, 2, 6);
+        assertThat("Cocktail: " + Arrays.toString(sortedArray),
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortQuickInPlace(sortedArray, 2, 6);
+        assertThat("Quick: " + Arrays.toString(sortedArray),
+                Arrays.equals(expected, sortedArray));
+
+        shuffledArray = initialArray.clone();
+        ArraySorter.shuffleInPlace(shuffledArray, 2, 6);
+        assertThat("Shuffle: " + Arrays.toString(shuffledArray),
+                shuffledArray[0] == 9 && shuffledArray[1] == 8
+                        && shuffledArray[6] == 0 && shuffledArray[7] == -1);
+    }
+
+    /**
+     * Пустой диапазон допустим и ничего не меняет.
+     */
+    @Test
+    public void testSortInPlaceAcceptsEmptyRange() {
+        sortedArray = new int[]{2, 1};
+        ArraySorter.sortQuickInPlace(sortedArray, 1, 1);
+        assertThat("Массив не должен измениться",
+                Arrays.equals(new int[]{2, 1}, sortedArray));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при неверном диапазоне.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortInPlaceThrowsOnInvalidRange() {
+        ArraySorter.sortQuickInPlace(new int[]{1, 2, 3}, 2, 4);
+    }
+
+    /*
+     * Тестирование sort() - адаптивной сортировки
+     */
+
+    /**
+     * Метод должен возращать сортированный массив.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortReturnsSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sort(initialArray);
+        boolean sorted = checkSorted(sortedArray);
+
+        assertThat("Массив " + Arrays.toString(sortedArray)
+                        + " должен быть отсортирован",
+                sorted);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при передаче в него пустого массива.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test(expected = ArraySorterException.class)
+    @Parameters(method = "getEmptyArray")
+    public void testSortThrowsArraySorterException(int[] initialArray) {
+        sortedArray = ArraySorter.sort(initialArray);
+    }
+
+    /**
+     * Наборы данных для проверки выбора алгоритма:
+     * массив и алгоритм, который должен быть выбран.
+     *
+     * @return массив наборов тестовых данных
+     */
+    private Object[] getStrategyParameters() {
+        final int length = 10000;
+        Random random = new Random(4);
+        int[] small = new int[]{3, 1, 2};
+        int[] nearlySorted = new int[length];
+        int[] narrowRange = new int[length];
+        int[] wideRandom = new int[length];
+        int[] duplicates = new int[length];
+        for (int i = 0; i < length; i++) {
+            nearlySorted[i] = i * 1000;
+            narrowRange[i] = random.nextInt(100);
+            wideRandom[i] = random.nextInt();
+            duplicates[i] = random.nextInt(4) * 1000000;
+        }
+        nearlySorted[10] = -1;
+        int[] reversed = new int[]{5, 4, 3, 2, 1};
+        return new Object[]{
+                new Object[]{reversed, SortStrategy.PRESORTED},
+                new Object[]{small, SortStrategy.INSERTION},
+                new Object[]{nearlySorted, SortStrategy.RUN_MERGE},
+                new Object[]{narrowRange, SortStrategy.COUNTING},
+                new Object[]{wideRandom, SortStrategy.RADIX},
+                new Object[]{duplicates, SortStrategy.INTRO}
+        };
+    }
+
+    /**
+     * Адаптивная сортировка должна выбирать ожидаемый алгоритм
+     * и сортировать им массив на месте.
+     *
+     * @param initialArray массив на входе для сортировки
+     * @param expected     ожидаемый алгоритм
+     */
+    @Test
+    @Parameters(method = "getStrategyParameters")
+    public void testSortInPlaceChoosesStrategy(int[] initialArray,
+                                               SortStrategy expected) {
+        assertThat("chooseStrategy должен вернуть " + expected,
+                ArraySorter.chooseStrategy(initialArray, 0, initialArray.length)
+                        == expected);
+
+        int[] expectedArray = initialArray.clone();
+        Arrays.sort(expectedArray);
+        sortedArray = initialArray.clone();
+        SortStrategy strategy = ArraySorter.sortInPlace(sortedArray, 0, sortedArray.length);
+        assertThat("sortInPlace должен применить " + expected,
+                strategy == expected);
+        assertThat("Массив должен совпадать с Arrays.sort",
+                Arrays.equals(expectedArray, sortedArray));
+    }
+
+    /*
+     * Тестирование argsort()
+     */
+
+    /**
+     * Ключи в порядке перестановки должны быть отсортированы.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив ключей
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testArgsortReturnsSortingPermutation(int[] initialArray) {
+        int[] permutation = ArraySorter.argsort(initialArray);
+        sortedArray = new int[initialArray.length];
+        for (int i = 0; i < permutation.length; i++) {
+            sortedArray[i] = initialArray[permutation[i]];
+        }
+        assertThat("Ключи " + Arrays.toString(sortedArray)
+                        + " должны быть отсортированы",
+                checkSorted(sortedArray));
+    }
+
+    /**
+     * Равные ключи должны сохранять исходный порядок индексов,
+     * диапазон - давать индексы внутри диапазона.
+     */
+    @Test
+    public void testArgsortIsStableOnRange() {
+        int[] keys = new int[]{100, 2, 1, 2, 1, 2, 100};
+        int[] permutation = new int[8];
+        ArraySorter.argsort(keys, 1, 6, permutation);
+        assertThat("Перестановка " + Arrays.toString(permutation),
+                Arrays.equals(new int[]{2, 4, 1, 3, 5, 0, 0, 0}, permutation));
+    }
+
+    /**
+     * На большом массиве с повторами argsort должен совпадать
+     * со стабильной сортировкой пар (ключ, индекс).
+     */
+    @Test
+    public void testArgsortMatchesStableSort() {
+        final int length = 100000;
+        Random random = new Random(8);
+        int[] keys = new int[length];
+        long[] pairs = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = random.nextInt(1000) - 500;
+            pairs[i] = ((long) keys[i] << 32) | i;
+        }
+        Arrays.sort(pairs);
+        int[] permutation = ArraySorter.argsort(keys);
+        boolean equal = true;
+        for (int i = 0; i < length; i++) {
+            if (permutation[i] != (int) pairs[i]) {
+                equal = false;
+                break;
+            }
+        }
+        assertThat("Перестановка должна совпадать со стабильной сортировкой", equal);
+    }
+
+    /*
+     * Тестирование sortIntro()
+     */
+
+    /**
+     * Метод должен возращать сортированный массив.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortIntroReturnsSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sortIntro(initialArray);
+        boolean sorted = checkSorted(sortedArray);
+
+        assertThat("Массив " + Arrays.toString(sortedArray)
+                        + " должен быть отсортирован",
+                sorted);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при передаче в него пустого массива.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test(expected = ArraySorterException.class)
+    @Parameters(method = "getEmptyArray")
+    public void testSortIntroThrowsArraySorterException(int[] initialArray) {
+        sortedArray = ArraySorter.sortIntro(initialArray);
+    }
+
+    /**
+     * Неудобные для быстрой сортировки данные
+     * ("органная труба", много повторов, случайные)
+     * должны сортироваться так же, как Arrays.sort.
+     */
+    @Test
+    public void testSortIntroInPlaceOnAdversarialInputs() {
+        final int length = 200000;
+        Random random = new Random(2);
+        int[][] inputs = new int[3][length];
+        for (int i = 0; i < length; i++) {
+            inputs[0][i] = i < length / 2 ? i : length - i;
+            inputs[1][i] = random.nextInt(3);
+            inputs[2][i] = random.nextInt();
+        }
+        for (int[] initialArray : inputs) {
+            int[] expected = initialArray.clone();
+            Arrays.sort(expected);
+            sortedArray = initialArray.clone();
+            ArraySorter.sortIntroInPlace(sortedArray, 0, length);
+            assertThat("Массив должен совпадать с Arrays.sort",
+                    Arrays.equals(expected, sortedArray));
+        }
+    }
+
+    /*
+     * Тестирование sortMerge()
+     */
+
+    /**
+     * Метод должен возращать сортированный массив.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortMergeReturnsSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sortMerge(initialArray);
+        boolean sorted = checkSorted(sortedArray);
+
+        assertThat("Массив " + Arrays.toString(sortedArray)
+                        + " должен быть отсортирован",
+                sorted);
+    }
+
+    /**
+     * Почти отсортированные, убывающие и случайные данные
+     * с буфером вызывающего должны сортироваться так же, как Arrays.sort.
+     */
+    @Test
+    public void testSortMergeInPlaceWithBuffer() {
+        final int length = 100000;
+        Random random = new Random(9);
+        int[][] inputs = new int[4][length];
+        for (int i = 0; i < length; i++) {
+            inputs[0][i] = i;
+            inputs[1][i] = length - i;
+            inputs[2][i] = random.nextInt(50);
+            inputs[3][i] = i < length / 2 ? i * 2 : (i - length / 2) * 2 + 1;
+        }
+        for (int k = 0; k < 100; k++) {
+            inputs[0][random.nextInt(length)] = random.nextInt();
+        }
+        int[] buffer = new int[length / 2];
+        for (int[] initialArray : inputs) {
+            int[] expected = initialArray.clone();
+            Arrays.sort(expected);
+            sortedArray = initialArray.clone();
+            ArraySorter.sortMergeInPlace(sortedArray, 0, length, buffer);
+            assertThat("Массив должен совпадать с Arrays.sort",
+                    Arrays.equals(expected, sortedArray));
+        }
+    }
+
+    /*
+     * Тестирование sortRadix()
+     */
+
+    /**
+     * Метод должен возращать сортированный массив.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortRadixReturnsSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sortRadix(initialArray);
+        boolean sorted = checkSorted(sortedArray);
+
+        assertThat("Массив " + Arrays.toString(sortedArray)
+                        + " должен быть отсортирован",
+                sorted);
+    }
+
+    /**
+     * Последовательный и параллельный варианты на большом массиве
+     * с отрицательными числами должны совпадать с Arrays.sort.
+     */
+    @Test
+    public void testSortRadixInPlaceWithBuffer() {
+        Random random = new Random(3);
+        int[] initialArray = new int[300000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = random.nextInt();
+        }
+        int[] expected = initialArray.clone();
+        Arrays.sort(expected, 5, 299995);
+        int[] buffer = new int[initialArray.length];
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortRadixInPlace(sortedArray, 5, 299995, buffer);
+        assertThat("Последовательный вариант должен совпадать с Arrays.sort",
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ArraySorter.sortRadixParallelInPlace(sortedArray, 5, 299995, buffer, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertThat("Параллельный вариант должен совпадать с Arrays.sort",
+                Arrays.equals(expected, sortedArray));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при слишком маленьком буфере.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortRadixThrowsOnSmallBuffer() {
+        ArraySorter.sortRadixInPlace(new int[]{3, 2, 1}, 0, 3, new int[2]);
+    }
+
+    /*
+     * Тестирование sortParallel()
+     */
+
+    /**
+     * Метод должен возращать сортированный массив.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortParallelReturnsSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sortParallel(initialArray);
+        boolean sorted = checkSorted(sortedArray);
+
+        assertThat("Массив " + Arrays.toString(sortedArray)
+                        + " должен быть отсортирован",
+                sorted);
+    }
+
+    /**
+     * Большой массив в отдельном пуле с маленьким порогом
+     * должен сортироваться так же, как Arrays.sort.
+     */
+    @Test
+    public void testSortParallelInPlaceWithCustomPool() {
+        Random random = new Random(1);
+        int[] initialArray = new int[100000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = random.nextInt();
+        }
+        int[] expected = initialArray.clone();
+        Arrays.sort(expected, 10, 99990);
+
+        sortedArray = initialArray.clone();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ArraySorter.sortParallelInPlace(sortedArray, 10, 99990, pool, 1000);
+        } finally {
+            pool.shutdown();
+        }
+        assertThat("Массив должен совпадать с Arrays.sort",
+                Arrays.equals(expected, sortedArray));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при неположительном пороге.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortParallelThrowsOnInvalidThreshold() {
+        ArraySorter.sortParallelInPlace(new int[]{2, 1}, 0, 2,
+                ForkJoinPool.commonPool(), 0);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при передаче в него null вместо пула.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortParallelThrowsOnNullPool() {
+        ArraySorter.sortParallelInPlace(new int[]{2, 1}, 0, 2, null, 1);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при передаче в него null вместо пула.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortRadixParallelThrowsOnNullPool() {
+        ArraySorter.sortRadixParallelInPlace(new int[]{2, 1}, 0, 2, new int[2], null);
+    }
+
+    /*
+     * Тестирование sortByKey()
+     */
+
+    /**
+     * Объекты должны сортироваться по ключу стабильно:
+     * равные ключи сохраняют исходный порядок,
+     * элементы вне диапазона не меняются.
+     */
+    @Test
+    public void testSortByKeyIsStable() {
+        String[] words = new String[]{"zz", "ccc", "a", "bb", "dddd", "b", "aa", "x"};
+        ArraySorter.sortByKey(words, 0, 7, String::length);
+        assertThat("words: " + Arrays.toString(words), Arrays.equals(
+                new String[]{"a", "b", "zz", "bb", "aa", "ccc", "dddd", "x"}, words));
+    }
+
+    /**
+     * На большом массиве с повторами ключей результат
+     * должен совпадать с Arrays.sort с компаратором (тоже стабильным).
+     */
+    @Test
+    public void testSortByKeyMatchesArraysSortWithComparator() {
+        Random random = new Random(19);
+        int[][] orders = new int[50000][];
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = new int[]{random.nextInt(1000) - 500, i};
+        }
+        int[][] expected = orders.clone();
+        Arrays.sort(expected, (a, b) -> Integer.compare(a[0], b[0]));
+
+        ArraySorter.sortByKey(orders, order -> order[0]);
+        for (int i = 0; i < orders.length; i++) {
+            assertThat("Позиция " + i, orders[i] == expected[i]);
+        }
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для неверного диапазона.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortByKeyThrowsOnInvalidRange() {
+        ArraySorter.sortByKey(new String[]{"a"}, 0, 2, String::length);
+    }
+
+    /*
+     * Тестирование selectKth() и partialSort()
+     */
+
+    /**
+     * Выбор k-го элемента должен совпадать с элементом
+     * отсортированного массива для каждого k.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSelectKthMatchesSortedArray(int[] initialArray) {
+        int[] expected = initialArray.clone();
+        Arrays.sort(expected);
+        for (int k = 0; k < expected.length; k++) {
+            int[] array = initialArray.clone();
+            int value = ArraySorter.selectKth(array, 0, array.length, k);
+            assertThat("k = " + k + ": " + Arrays.toString(array),
+                    value == expected[k] && array[k] == value);
+            for (int i = 0; i < array.length; i++) {
+                assertThat("Элемент " + i + " на неверной стороне: " + Arrays.toString(array),
+                        i < k ? array[i] <= value : array[i] >= value);
+            }
+        }
+    }
+
+    /**
+     * Выбор на большом массиве с неудачными для медианы трёх данными
+     * (органная труба, повторы) и в поддиапазоне.
+     */
+    @Test
+    public void testSelectKthOnLargeAdversarialArray() {
+        Random random = new Random(13);
+        int[] initialArray = new int[200000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = i % 2 == 0 ? i / 2 : initialArray.length - i;
+            if (i % 7 == 0) {
+                initialArray[i] = random.nextInt(100);
+            }
+        }
+        int[] expected = Arrays.copyOfRange(initialArray, 100, 199900);
+        Arrays.sort(expected);
+        for (int k : new int[]{0, 1, 1000, expected.length / 2, expected.length - 1}) {
+            int[] array = initialArray.clone();
+            assertThat("k = " + k,
+                    ArraySorter.selectKth(array, 100, 199900, k) == expected[k]);
+            assertThat("Элементы вне диапазона не должны меняться",
+                    array[99] == initialArray[99] && array[199900] == initialArray[199900]);
+        }
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при k за пределами диапазона.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSelectKthThrowsOnInvalidK() {
+        ArraySorter.selectKth(new int[]{3, 1, 2}, 0, 3, 3);
+    }
+
+    /**
+     * Частичная сортировка должна давать k наименьших
+     * по возрастанию в начале и k наибольших в конце.
+     */
+    @Test
+    public void testPartialSortSmallestAndLargest() {
+        Random random = new Random(5);
+        int[] initialArray = new int[10000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = random.nextInt(5000) - 2500;
+        }
+        int[] expected = initialArray.clone();
+        Arrays.sort(expected);
+
+        for (int k : new int[]{0, 1, 10, 100, 10000}) {
+            int[] smallest = initialArray.clone();
+            ArraySorter.partialSort(smallest, 0, smallest.length, k);
+            assertThat("Наименьшие, k = " + k, Arrays.equals(
+                    Arrays.copyOf(expected, k), Arrays.copyOf(smallest, k)));
+
+            int[] largest = initialArray.clone();
+            ArraySorter.partialSortLargest(largest, 0, largest.length, k);
+            assertThat("Наибольшие, k = " + k, Arrays.equals(
+                    Arrays.copyOfRange(expected, expected.length - k, expected.length),
+                    Arrays.copyOfRange(largest, largest.length - k, largest.length)));
+
+            Arrays.sort(smallest);
+            Arrays.sort(largest);
+            assertThat("Частичная сортировка должна переставлять элементы",
+                    Arrays.equals(expected, smallest) && Arrays.equals(expected, largest));
+        }
+    }
+
+    /*
+     * Тестирование sortCounting() и sortThreeWay()
+     */
+
+    /**
+     * Метод должен возращать сортированный массив.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortThreeWayReturnsSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sortThreeWay(initialArray);
+        boolean sorted = checkSorted(sortedArray);
+
+        assertThat("Массив " + Arrays.toString(sortedArray)
+                        + " должен быть отсортирован",
+                sorted);
+    }
+
+    /**
+     * Массивы с повторами в узком и широком диапазоне
+     * должны сортироваться так же, как Arrays.sort.
+     */
+    @Test
+    public void testSortCountingAndThreeWayMatchArraysSort() {
+        Random random = new Random(20);
+        for (int bound : new int[]{1, 7, 50000, 1 << 20}) {
+            int[] initialArray = new int[100000];
+            for (int i = 0; i < initialArray.length; i++) {
+                initialArray[i] = random.nextInt(bound) - bound / 2;
+            }
+            int[] expected = initialArray.clone();
+            Arrays.sort(expected);
+
+            assertThat("sortCounting, bound = " + bound,
+                    Arrays.equals(expected, ArraySorter.sortCounting(initialArray)));
+            assertThat("sortThreeWay, bound = " + bound,
+                    Arrays.equals(expected, ArraySorter.sortThreeWay(initialArray)));
+        }
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для слишком широкого диапазона значений.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortCountingThrowsOnWideRange() {
+        ArraySorter.sortCounting(new int[]{Integer.MAX_VALUE, 0, Integer.MIN_VALUE});
+    }
+
+    /*
+     * Тестирование sortDescending() и sort() с IntComparator
+     */
+
+    /**
+     * Метод должен возращать массив, сортированный по убыванию.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortDescendingReturnsReverseSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sortDescending(initialArray);
+        int[] expected = initialArray.clone();
+        Arrays.sort(expected);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat("Массив " + Arrays.toString(sortedArray)
+                            + " должен быть отсортирован по убыванию",
+                    sortedArray[i] == expected[expected.length - 1 - i]);
+        }
+    }
+
+    /**
+     * Маленький и большой массивы с крайними значениями int
+     * по убыванию через REVERSE, а также порядок по модулю
+     * через произвольный компаратор.
+     */
+    @Test
+    public void testSortWithComparators() {
+        Random random = new Random(21);
+        for (int length : new int[]{100, 100000}) {
+            int[] initialArray = new int[length];
+            for (int i = 0; i < initialArray.length; i++) {
+                initialArray[i] = random.nextInt();
+            }
+            initialArray[7] = Integer.MIN_VALUE;
+            initialArray[8] = Integer.MAX_VALUE;
+            int[] ascending = initialArray.clone();
+            Arrays.sort(ascending);
+
+            int[] descending = ArraySorter.sort(initialArray, IntComparator.REVERSE);
+            int[] viaReversed = ArraySorter.sort(initialArray, IntComparator.NATURAL.reversed());
+            int[] generic = ArraySorter.sort(initialArray, (a, b) -> Integer.compare(b, a));
+            for (int i = 0; i < length; i++) {
+                int expected = ascending[length - 1 - i];
+                assertThat("Позиция " + i + ", length = " + length,
+                        descending[i] == expected && viaReversed[i] == expected
+                                && generic[i] == expected);
+            }
+            assertThat("NATURAL должен сортировать по возрастанию",
+                    Arrays.equals(ascending, ArraySorter.sort(initialArray, IntComparator.NATURAL)));
+
+            int[] byAbs = ArraySorter.sort(initialArray,
+                    (a, b) -> Long.compare(Math.abs((long) a), Math.abs((long) b)));
+            for (int i = 1; i < length; i++) {
+                assertThat("По модулю, позиция " + i,
+                        Math.abs((long) byAbs[i - 1]) <= Math.abs((long) byAbs[i]));
+            }
+        }
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при отсутствии компаратора.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortThrowsOnNullComparator() {
+        ArraySorter.sortInPlace(new int[]{2, 1}, 0, 2, (IntComparator) null);
+    }
+
+    /*
+     * Тестирование sortVector()
+     */
+
+    /**
+     * Метод должен возращать сортированный массив.
+     * Используются наборы валидных данных.
+     *
+     * @param initialArray массив на входе для сортировки
+     */
+    @Test
+    @Parameters(method = "getValidParameters")
+    public void testSortVectorReturnsSortedArray(int[] initialArray) {
+        sortedArray = ArraySorter.sortVector(initialArray);
+        boolean sorted = checkSorted(sortedArray);
+
+        assertThat("Массив " + Arrays.toString(sortedArray)
+                        + " должен быть отсортирован",
+                sorted);
+    }
+
+    /**
+     * Большие массивы со случайными значениями, повторами
+     * и крайними значениями int в поддиапазоне
+     * должны сортироваться так же, как Arrays.sort.
+     * Сборка подключает jdk.incubator.vector, поэтому
+     * проверяется векторный путь.
+     */
+    @Test
+    public void testSortVectorMatchesArraysSort() {
+        assertThat("Сборка должна подключать векторные ядра", ArraySorter.isVectorized());
+        Random random = new Random(18);
+        for (int bound : new int[]{0, 3, 1000, Integer.MAX_VALUE}) {
+            int[] initialArray = new int[100003];
+            for (int i = 0; i < initialArray.length; i++) {
+                initialArray[i] = bound == Integer.MAX_VALUE ? random.nextInt() : random.nextInt(bound + 1);
+            }
+            initialArray[500] = Integer.MIN_VALUE;
+            initialArray[600] = Integer.MAX_VALUE;
+            int[] expected = initialArray.clone();
+            Arrays.sort(expected, 7, 100000);
+
+            sortedArray = initialArray.clone();
+            ArraySorter.sortVectorInPlace(sortedArray, 7, 100000);
+            assertThat("Массив должен совпадать с Arrays.sort, bound = " + bound,
+                    Arrays.equals(expected, sortedArray));
+        }
+    }
+
+    /**
+     * Сортировка выбором с векторным поиском максимума
+     * должна совпадать с Arrays.sort.
+     */
+    @Test
+    public void testSortSelectionVectorizedMatchesArraysSort() {
+        Random random = new Random(19);
+        int[] initialArray = new int[3000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = random.nextInt(500);
+        }
+        int[] expected = initialArray.clone();
+        Arrays.sort(expected);
+        assertThat("Массив должен совпадать с Arrays.sort",
+                Arrays.equals(expected, ArraySorter.sortSelection(initialArray)));
+    }
+
+    /*
+     * Тестирование sortSegments()
+     */
+
+    /**
+     * Сегменты всех размеров от пустого до 60 элементов
+     * должны сортироваться независимо, как Arrays.sort по каждому.
+     */
+    @Test
+    public void testSortSegmentsMatchesArraysSortPerSegment() {
+        Random random = new Random(17);
+        int segments = 20000;
+        int[] offsets = new int[segments + 1];
+        offsets[0] = 3;
+        for (int i = 0; i < segments; i++) {
+            offsets[i + 1] = offsets[i] + (i < 61 ? i : random.nextInt(50));
+        }
+        int[] initialArray = new int[offsets[segments] + 3];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = random.nextInt(100) - 50;
+        }
+        int[] expected = initialArray.clone();
+        for (int i = 0; i < segments; i++) {
+            Arrays.sort(expected, offsets[i], offsets[i + 1]);
+        }
+
+        sortedArray = initialArray.clone();
+        ArraySorter.sortSegments(sortedArray, offsets);
+        assertThat("Последовательный вариант должен совпадать с Arrays.sort",
+                Arrays.equals(expected, sortedArray));
+
+        sortedArray = initialArray.clone();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ArraySorter.sortSegmentsParallel(sortedArray, offsets, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertThat("Параллельный вариант должен совпадать с Arrays.sort",
+                Arrays.equals(expected, sortedArray));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для убывающих границ сегментов.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortSegmentsThrowsOnDecreasingOffsets() {
+        ArraySorter.sortSegments(new int[]{3, 2, 1}, new int[]{0, 2, 1, 3});
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для границ за пределами массива.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortSegmentsThrowsOnOffsetsOutOfRange() {
+        ArraySorter.sortSegments(new int[]{3, 2, 1}, new int[]{0, 4});
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при передаче в него null вместо пула.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortSegmentsParallelThrowsOnNullPool() {
+        ArraySorter.sortSegmentsParallel(new int[]{3, 2, 1}, new int[]{0, 3}, null);
+    }
+
+    /*
+     * Тестирование ранних выходов и measureDisorder()
+     */
+
+    /**
+     * Все сортировки на месте должны оставлять упорядоченный вход
+     * как есть и разворачивать обратный, не трогая элементы вне диапазона.
+     */
+    @Test
+    public void testSortersHandlePresortedAndReversedRanges() {
+        List<Consumer<int[]>> sorters = Arrays.asList(
+                a -> ArraySorter.sortInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortSelectionInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortGnomeInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortCocktailInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortQuickInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortIntroInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortCountingInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortThreeWayInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortVectorInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortRadixInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortMergeInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortParallelInPlace(a, 2, a.length - 2),
+                a -> ArraySorter.sortInPlace(a, 2, a.length - 2, (x, y) -> Integer.compare(x, y)));
+        final int length = 300;
+        int[] ascending = new int[length];
+        int[] descending = new int[length];
+        int[] plateau = new int[length];
+        int[] nearlySorted = new int[length];
+        for (int i = 0; i < length; i++) {
+            ascending[i] = i / 3;
+            descending[i] = length - i;
+            plateau[i] = (length - i) / 3;
+            nearlySorted[i] = i;
+        }
+        nearlySorted[length - 3] = -1;
+        for (int[] initialArray : new int[][]{ascending, descending, plateau, nearlySorted}) {
+            int[] expected = initialArray.clone();
+            Arrays.sort(expected, 2, length - 2);
+            for (int s = 0; s < sorters.size(); s++) {
+                sortedArray = initialArray.clone();
+                sorters.get(s).accept(sortedArray);
+                assertThat("Сортировка " + s + ": " + Arrays.toString(sortedArray),
+                        Arrays.equals(expected, sortedArray));
+            }
+        }
+
+        sortedArray = ascending.clone();
+        ArraySorter.sortDescendingInPlace(sortedArray, 0, length);
+        int[] expected = descending.clone();
+        for (int i = 0; i < length; i++) {
+            expected[i] = ascending[length - 1 - i];
+        }
+        assertThat("Обратный порядок: " + Arrays.toString(sortedArray),
+                Arrays.equals(expected, sortedArray));
+    }
+
+    /**
+     * Серии, спуски и точное число инверсий для короткого массива.
+     */
+    @Test
+    public void testMeasureDisorderOnSmallArrays() {
+        Disorder disorder = ArraySorter.measureDisorder(new int[]{3, 1, 2, 2, 0});
+        assertThat(disorder.toString(), disorder.getRuns() == 3
+                && disorder.getDescents() == 2
+                && disorder.getInversions() == 7
+                && disorder.isInversionsExact()
+                && !disorder.isSorted() && !disorder.isReversed());
+
+        disorder = ArraySorter.measureDisorder(new int[]{1, 1, 2});
+        assertThat(disorder.toString(), disorder.isSorted()
+                && disorder.getRuns() == 1 && disorder.getInversionRatio() == 0);
+
+        disorder = ArraySorter.measureDisorder(new int[]{9, 4, 5, 3, 1}, 2, 5);
+        assertThat(disorder.toString(), disorder.isReversed()
+                && disorder.getInversions() == 3 && disorder.getInversionRatio() == 1);
+    }
+
+    /**
+     * Для длинного случайного массива инверсии оцениваются выборкой:
+     * около половины всех пар.
+     */
+    @Test
+    public void testMeasureDisorderEstimatesInversions() {
+        Random random = new Random(23);
+        int[] initialArray = new int[100000];
+        for (int i = 0; i < initialArray.length; i++) {
+            initialArray[i] = random.nextInt();
+        }
+        Disorder disorder = ArraySorter.measureDisorder(initialArray);
+        assertThat(disorder.toString(), !disorder.isInversionsExact()
+                && Math.abs(disorder.getInversionRatio() - 0.5) < 0.05
+                && disorder.getRuns() > initialArray.length / 3);
+    }
+
     /**
      * Проверка сортировки массива.
      * Вспомогательный метод.
@@ -0,0 +1,95 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования сортировки в буферах NIO.
+ */
+public class BufferSorterTest {
+
+    /**
+     * Случайный массив.
+     */
+    private int[] randomArray(final int length, final long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = random.nextInt(length) - length / 2;
+        }
+        return values;
+    }
+
+    /**
+     * Прямой байтовый буфер с обоими порядками байтов
+     * сортируется между позицией и пределом, остальное не трогается.
+     */
+    @Test
+    public void testSortDirectByteBuffer() {
+        int[] values = randomArray(50000, 11);
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect((values.length + 2) * Integer.BYTES)
+                    .order(order);
+            buffer.putInt(Integer.MAX_VALUE);
+            buffer.asIntBuffer().put(values);
+            buffer.putInt((values.length + 1) * Integer.BYTES, Integer.MIN_VALUE);
+            buffer.limit((values.length + 1) * Integer.BYTES);
+
+            BufferSorter.sort(buffer, order);
+
+            int[] sorted = new int[values.length];
+            buffer.asIntBuffer().get(sorted);
+            int[] expected = values.clone();
+            Arrays.sort(expected);
+            assertThat(order + ": буфер должен быть отсортирован",
+                    Arrays.equals(expected, sorted));
+            assertThat(order + ": позиция не должна меняться",
+                    buffer.position() == Integer.BYTES);
+            assertThat(order + ": элемент до позиции не должен меняться",
+                    buffer.getInt(0) == Integer.MAX_VALUE);
+            buffer.limit(buffer.capacity());
+            assertThat(order + ": элемент после предела не должен меняться",
+                    buffer.getInt((values.length + 1) * Integer.BYTES) == Integer.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Диапазон IntBuffer сортируется так же, как Arrays.sort.
+     */
+    @Test
+    public void testSortIntBufferRange() {
+        int[] values = randomArray(1000, 12);
+        int[] expected = values.clone();
+        Arrays.sort(expected, 100, 900);
+
+        IntBuffer buffer = IntBuffer.wrap(values);
+        BufferSorter.sort(buffer, 100, 900);
+        assertThat("Диапазон должен быть отсортирован",
+                Arrays.equals(expected, values));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для буфера только для чтения.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortThrowsOnReadOnlyBuffer() {
+        BufferSorter.sort(IntBuffer.wrap(new int[]{2, 1}).asReadOnlyBuffer());
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException,
+     * если число байтов не кратно 4.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortThrowsOnPartialRecord() {
+        BufferSorter.sort(ByteBuffer.allocate(7), ByteOrder.BIG_ENDIAN);
+    }
+}
@@ -0,0 +1,117 @@
+package fintech;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования внешней сортировки файлов.
+ */
+public class ExternalSorterTest {
+
+    /**
+     * Каталог для входных, выходных и временных файлов.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Запись массива в файл.
+     */
+    private Path writeInts(final int[] values, final ByteOrder order) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(order);
+        buffer.asIntBuffer().put(values);
+        Path path = folder.newFile().toPath();
+        Files.write(path, buffer.array());
+        return path;
+    }
+
+    /**
+     * Чтение массива из файла.
+     */
+    private int[] readInts(final Path path, final ByteOrder order) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(order);
+        int[] values = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(values);
+        return values;
+    }
+
+    /**
+     * Файл, который во много раз больше бюджета,
+     * сортируется через серии и многопроходное слияние.
+     *
+     * @throws IOException при ошибке ввода-вывода
+     */
+    @Test
+    public void testSortFileLargerThanBudget() throws IOException {
+        Random random = new Random(10);
+        int[] values = new int[300000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+        }
+        Path input = writeInts(values, ByteOrder.LITTLE_ENDIAN);
+        Path output = folder.getRoot().toPath().resolve("sorted.bin");
+        File temp = folder.newFolder();
+
+        new ExternalSorter(ExternalSorter.MIN_MEMORY_BUDGET, temp.toPath(),
+                ByteOrder.LITTLE_ENDIAN).sort(input, output);
+
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertThat("Файл должен быть отсортирован",
+                Arrays.equals(expected, readInts(output, ByteOrder.LITTLE_ENDIAN)));
+        assertThat("Временные файлы должны быть удалены",
+                temp.list().length == 0);
+    }
+
+    /**
+     * Файл, помещающийся в бюджет, сортируется за один кусок.
+     *
+     * @throws IOException при ошибке ввода-вывода
+     */
+    @Test
+    public void testSortSmallFile() throws IOException {
+        int[] values = new int[]{5, -3, Integer.MAX_VALUE, 0, Integer.MIN_VALUE, 5};
+        Path input = writeInts(values, ByteOrder.BIG_ENDIAN);
+        Path output = folder.getRoot().toPath().resolve("small.bin");
+
+        new ExternalSorter(1 << 20).sort(input, output);
+
+        assertThat("Файл должен быть отсортирован",
+                Arrays.equals(new int[]{Integer.MIN_VALUE, -3, 0, 5, 5, Integer.MAX_VALUE},
+                        readInts(output, ByteOrder.BIG_ENDIAN)));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для файла, размер которого не кратен 4 байтам.
+     *
+     * @throws IOException при ошибке ввода-вывода
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortThrowsOnTruncatedFile() throws IOException {
+        Path input = folder.newFile().toPath();
+        Files.write(input, new byte[]{1, 2, 3});
+        new ExternalSorter(1 << 20).sort(input, folder.getRoot().toPath().resolve("out.bin"));
+    }
+
+    /**
+     * Конструктор должен выкидывать ArraySorterException
+     * при слишком маленьком бюджете.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testConstructorThrowsOnSmallBudget() {
+        new ExternalSorter(ExternalSorter.MIN_MEMORY_BUDGET - 1);
+    }
+}
@@ -0,0 +1,96 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования инкрементальной сортировки.
+ */
+public class IncrementalSorterTest {
+
+    /**
+     * Порции разного размера из нескольких потоков с фоновыми слияниями
+     * должны дать тот же результат, что и Arrays.sort.
+     */
+    @Test
+    public void testConcurrentChunksMatchArraysSort() throws Exception {
+        final Random random = new Random(3);
+        final int[] data = new int[200000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt();
+        }
+        int[] expected = data.clone();
+        Arrays.sort(expected);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final IncrementalSorter sorter = new IncrementalSorter(pool);
+            Thread[] producers = new Thread[4];
+            for (int p = 0; p < producers.length; p++) {
+                final int start = p * data.length / producers.length;
+                final int end = (p + 1) * data.length / producers.length;
+                producers[p] = new Thread(() -> {
+                    for (int from = start; from < end; from += 777) {
+                        sorter.add(data, from, Math.min(from + 777, end));
+                    }
+                });
+                producers[p].start();
+            }
+            for (Thread producer : producers) {
+                producer.join();
+            }
+            assertThat("Должны быть накоплены все элементы", sorter.size() == data.length);
+
+            int[] result = sorter.drainSorted();
+            assertThat("Массив должен совпадать с Arrays.sort", Arrays.equals(expected, result));
+            assertThat("После выдачи сортировка пуста", sorter.size() == 0);
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Итератор и mergeInto с синхронным исполнителем.
+     */
+    @Test
+    public void testIteratorAndMergeInto() {
+        IncrementalSorter sorter = new IncrementalSorter(Runnable::run);
+        sorter.add(new int[]{5, 3, 9});
+        sorter.add(new int[]{});
+        sorter.add(new int[]{1, 7});
+        sorter.add(new int[]{Integer.MIN_VALUE, 4, Integer.MAX_VALUE, 4});
+
+        PrimitiveIterator.OfInt iterator = sorter.iterator();
+        int[] result = new int[9];
+        int count = 0;
+        while (iterator.hasNext()) {
+            result[count++] = iterator.nextInt();
+        }
+        assertThat("result: " + Arrays.toString(result), Arrays.equals(
+                new int[]{Integer.MIN_VALUE, 1, 3, 4, 4, 5, 7, 9, Integer.MAX_VALUE}, result));
+
+        sorter.add(new int[]{2, 1});
+        int[] dst = new int[]{-1, -1, -1};
+        assertThat("Должно быть записано 2 элемента", sorter.mergeInto(dst, 1) == 2);
+        assertThat("dst: " + Arrays.toString(dst), Arrays.equals(new int[]{-1, 1, 2}, dst));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для слишком маленького массива результата.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testMergeIntoThrowsOnSmallBuffer() {
+        IncrementalSorter sorter = new IncrementalSorter(Runnable::run);
+        sorter.add(new int[]{3, 2, 1});
+        sorter.mergeInto(new int[3], 1);
+    }
+}
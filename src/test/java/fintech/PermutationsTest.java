@@ -0,0 +1,145 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования применения перестановок к столбцам.
+ */
+public class PermutationsTest {
+
+    /**
+     * Столбцы разных типов переставляются согласованно,
+     * перестановка после применения не меняется.
+     */
+    @Test
+    public void testApplyKeepsColumnsAligned() {
+        int[] ids = new int[]{30, 10, 20, 40};
+        double[] prices = new double[]{3.5, 1.5, 2.5, 4.5};
+        long[] quantities = new long[]{300L, 100L, 200L, 400L};
+        String[] names = new String[]{"c", "a", "b", "d"};
+
+        int[] permutation = ArraySorter.argsort(ids);
+        Permutations.applyAll(permutation, ids);
+        Permutations.apply(permutation, prices);
+        Permutations.apply(permutation, quantities);
+        Permutations.apply(permutation, names);
+
+        assertThat("ids: " + Arrays.toString(ids),
+                Arrays.equals(new int[]{10, 20, 30, 40}, ids));
+        assertThat("prices: " + Arrays.toString(prices),
+                Arrays.equals(new double[]{1.5, 2.5, 3.5, 4.5}, prices));
+        assertThat("quantities: " + Arrays.toString(quantities),
+                Arrays.equals(new long[]{100L, 200L, 300L, 400L}, quantities));
+        assertThat("names: " + Arrays.toString(names),
+                Arrays.equals(new String[]{"a", "b", "c", "d"}, names));
+        assertThat("Перестановка не должна меняться",
+                Arrays.equals(new int[]{1, 2, 0, 3}, permutation));
+    }
+
+    /**
+     * Столбец длиннее перестановки меняется только в начале.
+     */
+    @Test
+    public void testApplyTouchesOnlyPrefix() {
+        byte[] column = new byte[]{2, 1, 9};
+        Permutations.apply(new int[]{1, 0}, column);
+        assertThat("column: " + Arrays.toString(column),
+                Arrays.equals(new byte[]{1, 2, 9}, column));
+    }
+
+    /**
+     * Результат argsort диапазона в более длинный буфер
+     * применяется к тому же диапазону столбцов,
+     * хвост буфера и столбцы вне диапазона не трогаются.
+     */
+    @Test
+    public void testApplyRangeMatchesArgsortRange() {
+        int[] keys = new int[]{100, 3, 1, 2, 100};
+        String[] names = new String[]{"x", "c", "a", "b", "y"};
+        int[] permutation = new int[]{-7, -7, -7, -7, -7};
+
+        ArraySorter.argsort(keys, 1, 4, permutation);
+        Permutations.applyAll(permutation, 1, 4, keys);
+        Permutations.apply(permutation, 1, 4, names);
+
+        assertThat("keys: " + Arrays.toString(keys),
+                Arrays.equals(new int[]{100, 1, 2, 3, 100}, keys));
+        assertThat("names: " + Arrays.toString(names),
+                Arrays.equals(new String[]{"x", "a", "b", "c", "y"}, names));
+        assertThat("permutation: " + Arrays.toString(permutation),
+                Arrays.equals(new int[]{2, 3, 1, -7, -7}, permutation));
+    }
+
+    /**
+     * Перестановка диапазона применяется к столбцам всех типов
+     * одинаково, края столбцов остаются на месте.
+     */
+    @Test
+    public void testApplyRangeToEveryColumnType() {
+        int[] permutation = new int[]{3, 1, 4, 2, -1};
+        int[] ints = new int[]{0, 1, 2, 3, 4, 5};
+        long[] longs = new long[]{0L, 1L, 2L, 3L, 4L, 5L};
+        double[] doubles = new double[]{0.0, 1.0, 2.0, 3.0, 4.0, 5.0};
+        short[] shorts = new short[]{0, 1, 2, 3, 4, 5};
+        char[] chars = new char[]{'a', 'b', 'c', 'd', 'e', 'f'};
+        byte[] bytes = new byte[]{0, 1, 2, 3, 4, 5};
+        String[] strings = new String[]{"a", "b", "c", "d", "e", "f"};
+
+        Permutations.apply(permutation, 1, 5, ints);
+        Permutations.apply(permutation, 1, 5, longs);
+        Permutations.apply(permutation, 1, 5, doubles);
+        Permutations.apply(permutation, 1, 5, shorts);
+        Permutations.apply(permutation, 1, 5, chars);
+        Permutations.apply(permutation, 1, 5, bytes);
+        Permutations.apply(permutation, 1, 5, strings);
+
+        assertThat("ints: " + Arrays.toString(ints),
+                Arrays.equals(new int[]{0, 3, 1, 4, 2, 5}, ints));
+        assertThat("longs: " + Arrays.toString(longs),
+                Arrays.equals(new long[]{0L, 3L, 1L, 4L, 2L, 5L}, longs));
+        assertThat("doubles: " + Arrays.toString(doubles),
+                Arrays.equals(new double[]{0.0, 3.0, 1.0, 4.0, 2.0, 5.0}, doubles));
+        assertThat("shorts: " + Arrays.toString(shorts),
+                Arrays.equals(new short[]{0, 3, 1, 4, 2, 5}, shorts));
+        assertThat("chars: " + Arrays.toString(chars),
+                Arrays.equals(new char[]{'a', 'd', 'b', 'e', 'c', 'f'}, chars));
+        assertThat("bytes: " + Arrays.toString(bytes),
+                Arrays.equals(new byte[]{0, 3, 1, 4, 2, 5}, bytes));
+        assertThat("strings: " + Arrays.toString(strings),
+                Arrays.equals(new String[]{"a", "d", "b", "e", "c", "f"}, strings));
+        assertThat("Перестановка не должна меняться",
+                Arrays.equals(new int[]{3, 1, 4, 2, -1}, permutation));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для массива с повторяющимися индексами
+     * и восстанавливать переданный массив.
+     */
+    @Test
+    public void testApplyThrowsOnDuplicateIndex() {
+        int[] permutation = new int[]{1, 1, 0};
+        boolean thrown = false;
+        try {
+            Permutations.apply(permutation, new char[3]);
+        } catch (ArraySorterException e) {
+            thrown = true;
+        }
+        assertThat("Должно быть исключение", thrown);
+        assertThat("Перестановка должна быть восстановлена",
+                Arrays.equals(new int[]{1, 1, 0}, permutation));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для слишком короткого столбца.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testApplyThrowsOnShortColumn() {
+        Permutations.apply(new int[]{1, 0}, new short[1]);
+    }
+}
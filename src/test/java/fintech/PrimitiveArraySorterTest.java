@@ -0,0 +1,312 @@
+package fintech;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования сортировщиков массивов
+ * long, double, short, char и byte.
+ * Результат каждого алгоритма сравнивается с Arrays.sort.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class PrimitiveArraySorterTest {
+
+    /**
+     * Длина случайных массивов.
+     */
+    private static final int LENGTH = 500;
+
+    /**
+     * Имена проверяемых алгоритмов.
+     *
+     * @return массив наборов тестовых данных
+     */
+    private Object[] getAlgorithms() {
+        return new Object[]{"selection", "gnome", "cocktail", "quick", "intro"};
+    }
+
+    /**
+     * Сортировка long[].
+     *
+     * @param algorithm имя алгоритма
+     */
+    @Test
+    @Parameters(method = "getAlgorithms")
+    public void testLongArraySorter(String algorithm) {
+        Random random = new Random(5);
+        long[] array = new long[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            array[i] = i % 7 == 0 ? Long.MIN_VALUE : random.nextLong();
+        }
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        long[] sorted;
+        switch (algorithm) {
+            case "selection":
+                sorted = LongArraySorter.sortSelection(array);
+                break;
+            case "gnome":
+                sorted = LongArraySorter.sortGnome(array);
+                break;
+            case "cocktail":
+                sorted = LongArraySorter.sortCocktail(array);
+                break;
+            case "quick":
+                sorted = LongArraySorter.sortQuick(array);
+                break;
+            default:
+                sorted = LongArraySorter.sortIntro(array);
+                break;
+        }
+        assertThat(algorithm + ": массив должен совпадать с Arrays.sort",
+                Arrays.equals(expected, sorted));
+    }
+
+    /**
+     * Сортировка double[] с NaN, бесконечностями и нулями разного знака.
+     *
+     * @param algorithm имя алгоритма
+     */
+    @Test
+    @Parameters(method = "getAlgorithms")
+    public void testDoubleArraySorter(String algorithm) {
+        Random random = new Random(6);
+        double[] specials = new double[]{Double.NaN, -0.0, 0.0,
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.MIN_VALUE, -Double.MAX_VALUE};
+        double[] array = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            array[i] = i % 5 == 0 ? specials[random.nextInt(specials.length)]
+                    : random.nextGaussian();
+        }
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        double[] sorted;
+        switch (algorithm) {
+            case "selection":
+                sorted = DoubleArraySorter.sortSelection(array);
+                break;
+            case "gnome":
+                sorted = DoubleArraySorter.sortGnome(array);
+                break;
+            case "cocktail":
+                sorted = DoubleArraySorter.sortCocktail(array);
+                break;
+            case "quick":
+                sorted = DoubleArraySorter.sortQuick(array);
+                break;
+            default:
+                sorted = DoubleArraySorter.sortIntro(array);
+                break;
+        }
+        assertThat(algorithm + ": " + Arrays.toString(sorted),
+                Arrays.equals(expected, sorted));
+    }
+
+    /**
+     * Сортировка short[], char[] и byte[] с повторами.
+     *
+     * @param algorithm имя алгоритма
+     */
+    @Test
+    @Parameters(method = "getAlgorithms")
+    public void testSmallIntegralArraySorters(String algorithm) {
+        Random random = new Random(7);
+        short[] shorts = new short[LENGTH];
+        char[] chars = new char[LENGTH];
+        byte[] bytes = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            shorts[i] = (short) random.nextInt();
+            chars[i] = (char) random.nextInt();
+            bytes[i] = (byte) random.nextInt();
+        }
+        short[] expectedShorts = shorts.clone();
+        Arrays.sort(expectedShorts);
+        char[] expectedChars = chars.clone();
+        Arrays.sort(expectedChars);
+        byte[] expectedBytes = bytes.clone();
+        Arrays.sort(expectedBytes);
+
+        switch (algorithm) {
+            case "selection":
+                ShortArraySorter.sortSelectionInPlace(shorts, 0, LENGTH);
+                CharArraySorter.sortSelectionInPlace(chars, 0, LENGTH);
+                ByteArraySorter.sortSelectionInPlace(bytes, 0, LENGTH);
+                break;
+            case "gnome":
+                ShortArraySorter.sortGnomeInPlace(shorts, 0, LENGTH);
+                CharArraySorter.sortGnomeInPlace(chars, 0, LENGTH);
+                ByteArraySorter.sortGnomeInPlace(bytes, 0, LENGTH);
+                break;
+            case "cocktail":
+                ShortArraySorter.sortCocktailInPlace(shorts, 0, LENGTH);
+                CharArraySorter.sortCocktailInPlace(chars, 0, LENGTH);
+                ByteArraySorter.sortCocktailInPlace(bytes, 0, LENGTH);
+                break;
+            case "quick":
+                ShortArraySorter.sortQuickInPlace(shorts, 0, LENGTH);
+                CharArraySorter.sortQuickInPlace(chars, 0, LENGTH);
+                ByteArraySorter.sortQuickInPlace(bytes, 0, LENGTH);
+                break;
+            default:
+                ShortArraySorter.sortIntroInPlace(shorts, 0, LENGTH);
+                CharArraySorter.sortIntroInPlace(chars, 0, LENGTH);
+                ByteArraySorter.sortIntroInPlace(bytes, 0, LENGTH);
+                break;
+        }
+        assertThat(algorithm + ": short[]", Arrays.equals(expectedShorts, shorts));
+        assertThat(algorithm + ": char[]", Arrays.equals(expectedChars, chars));
+        assertThat(algorithm + ": byte[]", Arrays.equals(expectedBytes, bytes));
+    }
+
+    /**
+     * Сортировка подсчётом short[], char[] и byte[]: и явная,
+     * и выбранная sortInPlace для длинного диапазона.
+     * Края массива не меняются.
+     */
+    @Test
+    public void testSmallIntegralCounting() {
+        int length = 2 * ShortArraySorter.COUNTING_MIN;
+        Random random = new Random(8);
+        short[] shorts = new short[length];
+        char[] chars = new char[length];
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            shorts[i] = (short) random.nextInt();
+            chars[i] = (char) random.nextInt();
+            bytes[i] = (byte) random.nextInt();
+        }
+        short[] expectedShorts = shorts.clone();
+        Arrays.sort(expectedShorts, 1, length - 1);
+        char[] expectedChars = chars.clone();
+        Arrays.sort(expectedChars, 1, length - 1);
+        byte[] expectedBytes = bytes.clone();
+        Arrays.sort(expectedBytes);
+
+        ShortArraySorter.sortInPlace(shorts, 1, length - 1);
+        CharArraySorter.sortCountingInPlace(chars, 1, length - 1);
+        byte[] sortedBytes = ByteArraySorter.sortCounting(bytes);
+
+        assertThat("short[]", Arrays.equals(expectedShorts, shorts));
+        assertThat("char[]", Arrays.equals(expectedChars, chars));
+        assertThat("byte[]", Arrays.equals(expectedBytes, sortedBytes));
+    }
+
+    /**
+     * Сортировка диапазона double[] не трогает элементы вне диапазона
+     * и сохраняет биты NaN, как Arrays.sort.
+     *
+     * @param algorithm имя алгоритма
+     */
+    @Test
+    @Parameters(method = "getAlgorithms")
+    public void testDoubleRangeKeepsNaNBits(String algorithm) {
+        double negativeNaN = Double.longBitsToDouble(0xFFF0000000000001L);
+        double[] array = new double[]{7.0, Double.NaN, 2.0, negativeNaN, -0.0,
+                Double.NEGATIVE_INFINITY, 0.0, -1.0, -7.0};
+        double[] expected = array.clone();
+        Arrays.sort(expected, 1, 8);
+        switch (algorithm) {
+            case "selection":
+                DoubleArraySorter.sortSelectionInPlace(array, 1, 8);
+                break;
+            case "gnome":
+                DoubleArraySorter.sortGnomeInPlace(array, 1, 8);
+                break;
+            case "cocktail":
+                DoubleArraySorter.sortCocktailInPlace(array, 1, 8);
+                break;
+            case "quick":
+                DoubleArraySorter.sortQuickInPlace(array, 1, 8);
+                break;
+            default:
+                DoubleArraySorter.sortIntroInPlace(array, 1, 8);
+                break;
+        }
+        // порядок NaN между собой не задан - сравниваем наборы их битов
+        long[] expectedBits = new long[array.length];
+        long[] actualBits = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            expectedBits[i] = Double.doubleToRawLongBits(expected[i]);
+            actualBits[i] = Double.doubleToRawLongBits(array[i]);
+        }
+        Arrays.sort(expectedBits, 6, 8);
+        Arrays.sort(actualBits, 6, 8);
+        assertThat(algorithm + ": " + Arrays.toString(array),
+                Arrays.equals(expectedBits, actualBits));
+    }
+
+    /**
+     * Перемешивание не должно терять и добавлять элементы.
+     */
+    @Test
+    public void testShuffleKeepsElements() {
+        double[] array = new double[]{3.0, -0.0, Double.NaN, 1.5, 0.0};
+        double[] shuffled = DoubleArraySorter.shuffle(array);
+        double[] sorted = shuffled.clone();
+        Arrays.sort(sorted);
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        assertThat("Перемешанный массив должен состоять из тех же элементов",
+                Arrays.equals(expected, sorted));
+        assertThat("Перемешанный массив должен отличаться от исходного",
+                !Arrays.equals(array, shuffled));
+    }
+
+    /**
+     * Быстрая сортировка на «органной трубе» не должна переполнять
+     * стек даже в потоке с маленьким стеком: рекурсия только
+     * в меньшую часть разбиения.
+     *
+     * @throws InterruptedException при прерывании ожидания потока
+     */
+    @Test
+    public void testQuickSortStackDepthOnOrganPipe() throws InterruptedException {
+        int length = 20000;
+        long[] array = new long[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = i < length / 2 ? i : length - i;
+        }
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        long[][] sorted = new long[1][];
+        Throwable[] error = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                sorted[0] = LongArraySorter.sortQuick(array);
+            } catch (Throwable e) {
+                error[0] = e;
+            }
+        }, "small-stack", 1 << 18);
+        thread.start();
+        thread.join();
+        assertThat("Ошибка: " + error[0], error[0] == null);
+        assertThat("Массив должен совпадать с Arrays.sort",
+                Arrays.equals(expected, sorted[0]));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при передаче в него пустого массива.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortThrowsOnEmptyArray() {
+        LongArraySorter.sortIntro(new long[0]);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при неверном диапазоне.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortInPlaceThrowsOnInvalidRange() {
+        ByteArraySorter.sortQuickInPlace(new byte[3], 2, 1);
+    }
+}
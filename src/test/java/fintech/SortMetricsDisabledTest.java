@@ -0,0 +1,35 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Класс для тестирования сортировок с выключенной инструментовкой,
+ * как в продакшене. Запускается отдельным прогоном surefire
+ * (execution metrics-disabled) без свойства fintech.sort.metrics.
+ */
+public class SortMetricsDisabledTest {
+
+    /**
+     * Без свойства инструментовка выключена,
+     * сортировки ничего не считают, счётчики остаются доступны.
+     */
+    @Test
+    public void testDisabledByDefaultAndRecordsNothing() {
+        assumeFalse("Прогон с включённой инструментовкой", SortMetrics.ENABLED);
+        int[] array = new int[]{5, 3, 1, 4, 2};
+        ArraySorter.sortQuickInPlace(array, 0, array.length);
+        ArraySorter.sortInPlace(new int[]{2, 1, 3}, 0, 3);
+
+        assertThat("Массив должен быть отсортирован",
+                Arrays.equals(new int[]{1, 2, 3, 4, 5}, array));
+        for (AlgorithmMetrics.Snapshot snapshot : SortMetrics.snapshot().values()) {
+            assertThat(snapshot.toString(), snapshot.getCalls() == 0);
+        }
+        assertThat("Счётчики по имени", SortMetrics.get("quick").snapshot().getCalls() == 0);
+    }
+}
@@ -0,0 +1,102 @@
+package fintech;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import javax.management.ObjectName;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Класс для тестирования инструментовки сортировок.
+ * Сборка включает её свойством fintech.sort.metrics в surefire.
+ */
+public class SortMetricsTest {
+
+    /**
+     * Тесты имеют смысл только при включённой инструментовке.
+     */
+    @Before
+    public void setUp() {
+        assumeTrue(SortMetrics.ENABLED);
+        SortMetrics.reset();
+    }
+
+    /**
+     * Пузырьковые проходы коктейльной сортировки
+     * по массиву {4, 3, 1, 2}: 6 сравнений и 5 обменов.
+     * Проверка упорядоченности в счётчики не входит.
+     */
+    @Test
+    public void testCountsComparisonsAndSwaps() {
+        ArraySorter.sortCocktail(new int[]{4, 3, 1, 2});
+        AlgorithmMetrics.Snapshot snapshot = SortMetrics.get("cocktail").snapshot();
+
+        assertThat(snapshot.toString(), snapshot.getCalls() == 1);
+        assertThat(snapshot.toString(), snapshot.getElements() == 4);
+        assertThat(snapshot.toString(), snapshot.getComparisons() == 6);
+        assertThat(snapshot.toString(), snapshot.getSwaps() == 5);
+        long calls = 0;
+        for (long count : snapshot.getLatencyHistogram()) {
+            calls += count;
+        }
+        assertThat("Вызов должен попасть в гистограмму", calls == 1);
+    }
+
+    /**
+     * Быстрая сортировка считает глубину рекурсии,
+     * поразрядная - выделенный вспомогательный массив.
+     */
+    @Test
+    public void testRecordsDepthAndAllocation() {
+        int[] array = new int[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (int) (i * 7919L % array.length);
+        }
+        int[] copy = array.clone();
+        ArraySorter.sortQuickInPlace(array, 0, array.length);
+        ArraySorter.sortRadixInPlace(copy, 0, copy.length);
+
+        Map<String, AlgorithmMetrics.Snapshot> snapshots = SortMetrics.snapshot();
+        AlgorithmMetrics.Snapshot quick = snapshots.get("quick");
+        assertThat(quick.toString(), quick.getMaxRecursionDepth() >= 17);
+        assertThat(quick.toString(), quick.getAllocatedBytes() < 4L * array.length);
+        AlgorithmMetrics.Snapshot radix = snapshots.get("radix");
+        assertThat(radix.toString(), radix.getCalls() == 1
+                && radix.getAllocatedBytes() >= 4L * array.length);
+    }
+
+    /**
+     * Счётчики доступны через JMX.
+     */
+    @Test
+    public void testExposesMBeans() throws Exception {
+        ArraySorter.sortIntro(new int[]{2, 1, 3});
+        Object calls = ManagementFactory.getPlatformMBeanServer().getAttribute(
+                new ObjectName("fintech:type=SortMetrics,name=intro"), "Calls");
+        assertThat("Calls: " + calls, Long.valueOf(1).equals(calls));
+    }
+
+    /**
+     * Счётчики находятся и по имени элемента StandardSorter.
+     */
+    @Test
+    public void testGetAcceptsStandardSorterName() {
+        ArraySorter.sortThreeWayInPlace(new int[]{3, 1, 2, 1}, 0, 4);
+        AlgorithmMetrics.Snapshot snapshot =
+                SortMetrics.get(StandardSorter.THREE_WAY.name()).snapshot();
+        assertThat(snapshot.toString(), snapshot.getCalls() == 1);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для неизвестного алгоритма.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testThrowsOnUnknownSorter() {
+        SortMetrics.get("bogo");
+    }
+}
@@ -0,0 +1,164 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования асинхронного сервиса сортировки.
+ */
+public class SortServiceTest {
+
+    /**
+     * Задания всех размеров от нескольких потоков
+     * должны совпадать с Arrays.sort, исходные массивы не меняются.
+     */
+    @Test
+    public void testSortsConcurrentJobsOfAllSizes() throws Exception {
+        final int[] lengths = new int[]{0, 1, 3, 8, 100, 256, 257, 5000,
+                SortService.PARALLEL_MIN_LENGTH + 7};
+        try (SortService service = new SortService(4, 256)) {
+            List<Thread> threads = new ArrayList<>();
+            List<Throwable> failures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final long seed = t;
+                Thread thread = new Thread(() -> {
+                    try {
+                        Random random = new Random(seed);
+                        for (int round = 0; round < 20; round++) {
+                            int[] input = new int[lengths[random.nextInt(lengths.length)]];
+                            for (int i = 0; i < input.length; i++) {
+                                input[i] = random.nextInt(1000) - 500;
+                            }
+                            int[] original = input.clone();
+                            int[] expected = input.clone();
+                            Arrays.sort(expected);
+                            int[] sorted = service.submit(input).get();
+                            assertThat("Длина " + input.length, Arrays.equals(expected, sorted));
+                            assertThat("Исходный массив не должен меняться",
+                                    Arrays.equals(original, input));
+                        }
+                    } catch (Throwable e) {
+                        synchronized (failures) {
+                            failures.add(e);
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertThat("Ошибки: " + failures, failures.isEmpty());
+        }
+    }
+
+    /**
+     * Маленькие задания, накопившиеся в очереди,
+     * сортируются одной задачей разбора, диапазон - копией.
+     */
+    @Test
+    public void testBatchesSmallJobs() throws Exception {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        SortService service = new SortService(tasks::add, ForkJoinPool.commonPool(), 1, 100);
+        Random random = new Random(41);
+        List<int[]> inputs = new ArrayList<>();
+        List<CompletableFuture<int[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int[] input = new int[2 + random.nextInt(20)];
+            for (int k = 0; k < input.length; k++) {
+                input[k] = random.nextInt();
+            }
+            inputs.add(input);
+            futures.add(service.submit(input, 1, input.length));
+        }
+        assertThat("Задача разбора одна: " + tasks.size(), tasks.size() == 1);
+        assertThat("Ничего ещё не отсортировано", !futures.get(0).isDone());
+
+        tasks.poll().run();
+        for (int i = 0; i < inputs.size(); i++) {
+            int[] expected = Arrays.copyOfRange(inputs.get(i), 1, inputs.get(i).length);
+            Arrays.sort(expected);
+            assertThat("Задание " + i, Arrays.equals(expected, futures.get(i).getNow(null)));
+        }
+        assertThat("Очередь пуста", service.queued() == 0 && tasks.isEmpty());
+        service.close();
+    }
+
+    /**
+     * Действие, зависящее от первого задания пакета и сортирующее
+     * в том же потоке с рабочей областью потока, не должно портить
+     * результаты остальных заданий пакета.
+     */
+    @Test
+    public void testDependentActionDoesNotCorruptBatch() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        SortService service = new SortService(tasks::add, ForkJoinPool.commonPool(), 1, 10);
+        CompletableFuture<int[]> first = service.submit(new int[]{3, 2, 1});
+        CompletableFuture<int[]> second = service.submit(new int[]{9, 8, 7});
+        int[] other = new int[]{5, 1, 4, 2, 6, 3};
+        first.thenAccept(sorted ->
+                ArraySorter.sortRadixInPlace(other, 0, other.length, SortWorkspace.current()));
+
+        tasks.poll().run();
+        assertThat("Первое задание", Arrays.equals(new int[]{1, 2, 3}, first.getNow(null)));
+        assertThat("Второе задание: " + Arrays.toString(second.getNow(null)),
+                Arrays.equals(new int[]{7, 8, 9}, second.getNow(null)));
+        assertThat("Зависимое действие", Arrays.equals(new int[]{1, 2, 3, 4, 5, 6}, other));
+        service.close();
+    }
+
+    /**
+     * При заполненной очереди submit должен выкидывать
+     * RejectedExecutionException, после разбора задания снова принимаются.
+     */
+    @Test
+    public void testRejectsWhenQueueIsFull() {
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        SortService service = new SortService(tasks::add, ForkJoinPool.commonPool(), 1, 2);
+        CompletableFuture<int[]> first = service.submit(new int[]{3, 2, 1});
+        service.submit(new int[]{5, 4});
+        try {
+            service.submit(new int[]{2, 1});
+            assertThat("Третье задание должно быть отвергнуто", false);
+        } catch (RejectedExecutionException e) {
+            // ожидаемо
+        }
+
+        tasks.poll().run();
+        assertThat("Первое задание", Arrays.equals(new int[]{1, 2, 3}, first.getNow(null)));
+        assertThat("Место освободилось", service.submit(new int[]{2, 1}) != null);
+        tasks.poll().run();
+        service.close();
+    }
+
+    /**
+     * После close новые задания отвергаются.
+     */
+    @Test(expected = RejectedExecutionException.class)
+    public void testRejectsAfterClose() {
+        SortService service = new SortService(1, 1);
+        service.close();
+        service.submit(new int[]{2, 1});
+    }
+
+    /**
+     * Конструктор должен выкидывать ArraySorterException
+     * при неположительной ёмкости очереди.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testConstructorThrowsOnInvalidCapacity() {
+        new SortService(Runnable::run, ForkJoinPool.commonPool(), 1, 0);
+    }
+}
@@ -0,0 +1,194 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToIntFunction;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Класс для тестирования рабочей области сортировок.
+ */
+public class SortWorkspaceTest {
+
+    /**
+     * Длина тестовых массивов: больше порога поразрядной сортировки.
+     */
+    private static final int LENGTH = 20000;
+
+    /**
+     * Сортировки с рабочей областью должны давать тот же результат,
+     * что и Arrays.sort.
+     */
+    @Test
+    public void testSortsWithWorkspaceMatchArraysSort() {
+        Random random = new Random(31);
+        int[] wide = new int[LENGTH];
+        int[] narrow = new int[LENGTH];
+        int[] nearlySorted = new int[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            wide[i] = random.nextInt();
+            narrow[i] = random.nextInt(1000);
+            nearlySorted[i] = i;
+        }
+        nearlySorted[LENGTH / 2] = -1;
+        SortWorkspace workspace = new SortWorkspace();
+        int[] work = new int[LENGTH];
+        for (int[] input : new int[][]{wide, narrow, nearlySorted}) {
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+            for (int method = 0; method < 6; method++) {
+                System.arraycopy(input, 0, work, 0, LENGTH);
+                sort(method, work, workspace);
+                assertThat("Метод " + method, Arrays.equals(expected, work));
+            }
+        }
+    }
+
+    /**
+     * После прогрева поразрядная сортировка, слияние, сортировка
+     * по убыванию и sortByKey с рабочей областью, а также поразрядная
+     * сортировка с буфером вызывающего не выделяют памяти.
+     * Адаптивная и векторная сортировки не проверяются:
+     * до компиляции C2 векторы Vector API создаются в куче.
+     */
+    @Test
+    public void testSteadyStateSortingDoesNotAllocate() {
+        assumeTrue(SortMetrics.allocatedBytes() >= 0);
+        Random random = new Random(37);
+        int[] input = new int[LENGTH];
+        Integer[] boxed = new Integer[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            input[i] = random.nextInt();
+            boxed[i] = input[i];
+        }
+        int[] work = new int[LENGTH];
+        Integer[] boxedWork = new Integer[LENGTH];
+        int[] buffer = new int[LENGTH];
+        ToIntFunction<Integer> key = Integer::intValue;
+        SortWorkspace workspace = new SortWorkspace();
+
+        long before = 0;
+        for (int round = 0; round < 20; round++) {
+            if (round == 10) {
+                before = SortMetrics.allocatedBytes();
+            }
+            for (int method = 1; method < 6; method += 2) {
+                System.arraycopy(input, 0, work, 0, LENGTH);
+                sort(method, work, workspace);
+            }
+            System.arraycopy(boxed, 0, boxedWork, 0, LENGTH);
+            ArraySorter.sortByKey(boxedWork, 0, LENGTH, key, workspace);
+            System.arraycopy(input, 0, work, 0, LENGTH);
+            ArraySorter.sortRadixInPlace(work, 0, LENGTH, buffer);
+        }
+        long allocated = SortMetrics.allocatedBytes() - before;
+        // меньше одной гистограммы поразрядной сортировки на все 50 вызовов
+        assertThat("Выделено байт: " + allocated,
+                allocated < (long) Integer.BYTES * RadixSort.HISTOGRAM_LENGTH);
+    }
+
+    /**
+     * Сортировка массива одним из методов с рабочей областью,
+     * результат всегда по возрастанию.
+     * Вспомогательный метод.
+     *
+     * @param method    номер метода
+     * @param work      массив для сортировки
+     * @param workspace рабочая область
+     */
+    private static void sort(final int method, final int[] work,
+                             final SortWorkspace workspace) {
+        switch (method) {
+            case 0:
+                ArraySorter.sortInPlace(work, 0, work.length, workspace);
+                break;
+            case 1:
+                ArraySorter.sortRadixInPlace(work, 0, work.length, workspace);
+                break;
+            case 2:
+                ArraySorter.sortThreeWayInPlace(work, 0, work.length, workspace);
+                break;
+            case 3:
+                ArraySorter.sortMergeInPlace(work, 0, work.length, workspace);
+                break;
+            case 4:
+                ArraySorter.sortVectorInPlace(work, 0, work.length, workspace);
+                break;
+            default:
+                ArraySorter.sortDescendingInPlace(work, 0, work.length, workspace);
+                for (int i = 0, j = work.length - 1; i < j; i++, j--) {
+                    int value = work[i];
+                    work[i] = work[j];
+                    work[j] = value;
+                }
+                break;
+        }
+    }
+
+    /**
+     * Массивы длиннее retainLimit не удерживаются,
+     * а большой буфер освобождается, когда запросы снова стали маленькими.
+     */
+    @Test
+    public void testRetainLimitAndShrink() {
+        Random random = new Random(37);
+        int[] large = new int[100000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = random.nextInt();
+        }
+        int[] small = Arrays.copyOf(large, 100);
+
+        SortWorkspace limited = new SortWorkspace(1000);
+        ArraySorter.sortRadixInPlace(large.clone(), 0, large.length, limited);
+        assertThat("Удержано: " + limited.retainedLength(), limited.retainedLength() <= 1000);
+
+        SortWorkspace workspace = new SortWorkspace();
+        ArraySorter.sortRadixInPlace(large.clone(), 0, large.length, workspace);
+        assertThat("Удержано: " + workspace.retainedLength(),
+                workspace.retainedLength() >= large.length);
+        for (int i = 0; i < SortWorkspace.SHRINK_PERIOD; i++) {
+            ArraySorter.sortMergeInPlace(small.clone(), 0, small.length, workspace);
+            ArraySorter.sortRadixInPlace(small.clone(), 0, small.length, workspace);
+        }
+        assertThat("Удержано: " + workspace.retainedLength(),
+                workspace.retainedLength() < large.length);
+
+        workspace.trim();
+        assertThat("После trim: " + workspace.retainedLength(), workspace.retainedLength() == 0);
+    }
+
+    /**
+     * current() возвращает одну рабочую область на поток.
+     */
+    @Test
+    public void testCurrentIsPerThread() throws Exception {
+        SortWorkspace mine = SortWorkspace.current();
+        assertThat("Повторный вызов - та же область", mine == SortWorkspace.current());
+        SortWorkspace other = CompletableFuture.supplyAsync(SortWorkspace::current,
+                runnable -> new Thread(runnable).start()).get();
+        assertThat("Другой поток - другая область", mine != other);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * при отсутствии рабочей области.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortThrowsOnNullWorkspace() {
+        ArraySorter.sortMergeInPlace(new int[]{2, 1}, 0, 2, (SortWorkspace) null);
+    }
+
+    /**
+     * Конструктор должен выкидывать ArraySorterException
+     * при отрицательной удерживаемой длине.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testConstructorThrowsOnNegativeRetainLimit() {
+        new SortWorkspace(-1);
+    }
+}
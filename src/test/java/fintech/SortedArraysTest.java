@@ -0,0 +1,130 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования операций над отсортированными массивами.
+ */
+public class SortedArraysTest {
+
+    /**
+     * Отсортированный массив с повторами для поиска.
+     */
+    private static final int[] SORTED = new int[]{-5, -5, 0, 2, 2, 2, 7, 9, 9, 15};
+
+    /**
+     * Нижняя и верхняя границы, поиск скачками и binarySearch
+     * должны совпадать с линейным поиском для всех ключей.
+     */
+    @Test
+    public void testBoundsMatchLinearScan() {
+        for (int key = -7; key <= 17; key++) {
+            int lower = 0;
+            while (lower < SORTED.length && SORTED[lower] < key) {
+                lower++;
+            }
+            int upper = lower;
+            while (upper < SORTED.length && SORTED[upper] == key) {
+                upper++;
+            }
+            assertThat("lowerBound " + key,
+                    SortedArrays.lowerBound(SORTED, 0, SORTED.length, key) == lower);
+            assertThat("upperBound " + key,
+                    SortedArrays.upperBound(SORTED, 0, SORTED.length, key) == upper);
+            assertThat("gallopLowerBound " + key,
+                    SortedArrays.gallopLowerBound(SORTED, 0, SORTED.length, key) == lower);
+            int index = SortedArrays.binarySearch(SORTED, 0, SORTED.length, key);
+            assertThat("binarySearch " + key,
+                    lower == upper ? index == -lower - 1 : index == lower);
+        }
+    }
+
+    /**
+     * Поиск по раскладке Эйтцингера должен находить то же значение,
+     * что и нижняя граница в исходном массиве.
+     */
+    @Test
+    public void testEytzingerLowerBound() {
+        int[] layout = new int[SORTED.length + 1];
+        SortedArrays.toEytzinger(SORTED, 0, SORTED.length, layout);
+        for (int key = -7; key <= 17; key++) {
+            int lower = SortedArrays.lowerBound(SORTED, 0, SORTED.length, key);
+            int k = SortedArrays.eytzingerLowerBound(layout, SORTED.length, key);
+            assertThat("key " + key + ", layout " + Arrays.toString(layout),
+                    lower == SORTED.length ? k == 0 : layout[k] == SORTED[lower]);
+        }
+    }
+
+    /**
+     * Слияние двух и нескольких массивов.
+     */
+    @Test
+    public void testMergeAndMergeAll() {
+        int[] a = new int[]{1, 3, 5, 7};
+        int[] b = new int[]{2, 3, 8};
+        int[] dst = new int[7];
+        assertThat("Должно быть записано 7", SortedArrays.merge(a, b, dst) == 7);
+        assertThat("merge: " + Arrays.toString(dst),
+                Arrays.equals(new int[]{1, 2, 3, 3, 5, 7, 8}, dst));
+
+        dst = new int[9];
+        SortedArrays.mergeAll(new int[][]{a, {}, b, {0, 9}}, dst);
+        assertThat("mergeAll: " + Arrays.toString(dst),
+                Arrays.equals(new int[]{0, 1, 2, 3, 3, 5, 7, 8, 9}, dst));
+    }
+
+    /**
+     * Удаление повторов и операции над множествами
+     * дают различные значения по возрастанию.
+     */
+    @Test
+    public void testDedupeAndSetOperations() {
+        int[] a = new int[]{1, 1, 2, 4, 4, 6, 9};
+        int[] b = new int[]{1, 4, 4, 5, 6, 6, 10};
+        int[] dst = new int[14];
+
+        int count = SortedArrays.union(a, b, dst);
+        assertThat("union: " + Arrays.toString(dst), Arrays.equals(
+                new int[]{1, 2, 4, 5, 6, 9, 10}, Arrays.copyOf(dst, count)));
+        count = SortedArrays.intersection(a, b, dst);
+        assertThat("intersection: " + Arrays.toString(dst), Arrays.equals(
+                new int[]{1, 4, 6}, Arrays.copyOf(dst, count)));
+        count = SortedArrays.difference(a, b, dst);
+        assertThat("difference: " + Arrays.toString(dst), Arrays.equals(
+                new int[]{2, 9}, Arrays.copyOf(dst, count)));
+
+        int end = SortedArrays.dedupe(a, 0, a.length);
+        assertThat("dedupe: " + Arrays.toString(a), Arrays.equals(
+                new int[]{1, 2, 4, 6, 9}, Arrays.copyOf(a, end)));
+    }
+
+    /**
+     * Пересечение короткого массива с длинным идёт скачками
+     * и должно давать тот же результат.
+     */
+    @Test
+    public void testIntersectionOfSkewedArrays() {
+        int[] large = new int[10000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = 2 * i;
+        }
+        int[] small = new int[]{-1, 0, 3, 500, 500, 19998, 20000};
+        int[] dst = new int[small.length];
+        int count = SortedArrays.intersection(small, large, dst);
+        assertThat("intersection: " + Arrays.toString(dst), Arrays.equals(
+                new int[]{0, 500, 19998}, Arrays.copyOf(dst, count)));
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для слишком маленького массива результата.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testMergeThrowsOnSmallBuffer() {
+        SortedArrays.merge(new int[]{1, 2}, new int[]{3}, new int[2]);
+    }
+}
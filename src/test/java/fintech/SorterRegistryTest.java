@@ -0,0 +1,132 @@
+package fintech;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования интерфейса Sorter и реестра SorterRegistry.
+ */
+@RunWith(JUnitParamsRunner.class)
+public class SorterRegistryTest {
+
+    /**
+     * Имя тестового алгоритма, регистрируемого в тестах.
+     */
+    private static final String CUSTOM_NAME = "Custom-Test";
+
+    /**
+     * Удаление тестового алгоритма после каждого теста.
+     */
+    @After
+    public void doAfterClass() {
+        SorterRegistry.unregister(CUSTOM_NAME);
+    }
+
+    /**
+     * Имена всех стандартных алгоритмов.
+     *
+     * @return массив наборов тестовых данных
+     */
+    private Object[] getStandardNames() {
+        Object[] names = new Object[StandardSorter.values().length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = StandardSorter.values()[i].name().toLowerCase();
+        }
+        return names;
+    }
+
+    /**
+     * Каждый стандартный алгоритм находится по имени
+     * и сортирует диапазон массива.
+     *
+     * @param name имя алгоритма
+     */
+    @Test
+    @Parameters(method = "getStandardNames")
+    public void testStandardSorterSortsRange(String name) {
+        Sorter sorter = SorterRegistry.get(name);
+        int[] array = new int[]{9, 5, -1, 3, 3, 0, 7, 8};
+        sorter.sort(array, 1, 7);
+        assertThat(name + ": " + Arrays.toString(array),
+                Arrays.equals(new int[]{9, -1, 0, 3, 3, 5, 7, 8}, array));
+    }
+
+    /**
+     * sortCopy не должен менять исходный массив.
+     *
+     * @param name имя алгоритма
+     */
+    @Test
+    @Parameters(method = "getStandardNames")
+    public void testSortCopyKeepsInput(String name) {
+        int[] array = new int[]{3, 2, 1};
+        int[] sorted = SorterRegistry.get(name).sortCopy(array);
+        assertThat("Исходный массив не должен меняться",
+                Arrays.equals(new int[]{3, 2, 1}, array));
+        assertThat("Копия должна быть отсортирована",
+                Arrays.equals(new int[]{1, 2, 3}, sorted));
+    }
+
+    /**
+     * Свой алгоритм регистрируется и находится без учёта регистра.
+     */
+    @Test
+    public void testRegisterCustomSorter() {
+        Sorter custom = new Sorter() {
+            @Override
+            public String name() {
+                return CUSTOM_NAME;
+            }
+
+            @Override
+            public void sort(final int[] intArray, final int from, final int to) {
+                Arrays.sort(intArray, from, to);
+            }
+
+            @Override
+            public boolean isStable() {
+                return true;
+            }
+
+            @Override
+            public boolean isInPlace() {
+                return true;
+            }
+
+            @Override
+            public boolean isParallel() {
+                return false;
+            }
+        };
+        SorterRegistry.register(custom);
+        assertThat("Алгоритм должен находиться по имени",
+                SorterRegistry.get("custom-test") == custom);
+        assertThat("Имя должно быть в списке",
+                SorterRegistry.names().contains("custom-test"));
+    }
+
+    /**
+     * Реестр должен выкидывать ArraySorterException
+     * для незарегистрированного имени.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testGetThrowsOnUnknownName() {
+        SorterRegistry.get("no-such-sorter");
+    }
+
+    /**
+     * sortCopy должен выкидывать ArraySorterException
+     * при передаче в него пустого массива.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testSortCopyThrowsOnEmptyArray() {
+        StandardSorter.QUICK.sortCopy(new int[0]);
+    }
+}
@@ -0,0 +1,86 @@
+package fintech;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Класс для тестирования потокового отбора k наибольших и наименьших.
+ */
+public class TopKCollectorTest {
+
+    /**
+     * Отобранные значения должны совпадать с краями
+     * отсортированного потока, включая крайние значения int.
+     */
+    @Test
+    public void testCollectsLargestAndSmallest() {
+        Random random = new Random(7);
+        int[] stream = new int[50000];
+        for (int i = 0; i < stream.length; i++) {
+            stream[i] = random.nextInt();
+        }
+        stream[10] = Integer.MIN_VALUE;
+        stream[20] = Integer.MAX_VALUE;
+        int[] expected = stream.clone();
+        Arrays.sort(expected);
+
+        TopKCollector largest = new TopKCollector(new int[100], true);
+        TopKCollector smallest = new TopKCollector(new int[100], false);
+        for (int value : stream) {
+            largest.offer(value);
+        }
+        smallest.offer(stream, 0, stream.length);
+
+        int[] result = new int[100];
+        assertThat("Должно быть отобрано 100 значений", largest.toSortedArray(result) == 100);
+        assertThat("Наибольшие: " + Arrays.toString(result), Arrays.equals(
+                Arrays.copyOfRange(expected, expected.length - 100, expected.length), result));
+        assertThat("Граница наибольших", largest.threshold() == expected[expected.length - 100]);
+
+        smallest.toSortedArray(result);
+        assertThat("Наименьшие: " + Arrays.toString(result),
+                Arrays.equals(Arrays.copyOf(expected, 100), result));
+        assertThat("Граница наименьших", smallest.threshold() == expected[99]);
+    }
+
+    /**
+     * Если подано меньше k значений, отбираются все,
+     * после clear() сборщик используется заново.
+     */
+    @Test
+    public void testFewerValuesThanKAndClear() {
+        TopKCollector collector = new TopKCollector(new int[5], true);
+        collector.offer(new int[]{3, 1, 2}, 0, 3);
+        int[] result = new int[5];
+        assertThat("Должно быть отобрано 3 значения", collector.toSortedArray(result) == 3);
+        assertThat("result: " + Arrays.toString(result),
+                Arrays.equals(new int[]{1, 2, 3}, Arrays.copyOf(result, 3)));
+
+        collector.clear();
+        assertThat("После clear() сборщик пуст", collector.size() == 0);
+    }
+
+    /**
+     * Метод должен выкидывать ArraySorterException
+     * для слишком маленького массива результата.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testToSortedArrayThrowsOnSmallBuffer() {
+        TopKCollector collector = new TopKCollector(new int[3], false);
+        collector.offer(new int[]{3, 1, 2}, 0, 3);
+        collector.toSortedArray(new int[2]);
+    }
+
+    /**
+     * Конструктор должен выкидывать ArraySorterException
+     * для пустого массива под кучу.
+     */
+    @Test(expected = ArraySorterException.class)
+    public void testThrowsOnEmptyBuffer() {
+        new TopKCollector(new int[0], true);
+    }
+}